@@ -0,0 +1,60 @@
+package org.trofiv.labs.search.benchmark;
+
+import org.trofiv.labs.search.document.DocumentModel;
+import org.trofiv.labs.search.index.IndexBuilder;
+import org.trofiv.labs.search.index.IndexBuilderConfig;
+import org.trofiv.labs.search.service.CatalogGenerator;
+import org.trofiv.labs.search.service.CatalogGeneratorConfig;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public enum BenchmarkCatalog {
+    ;
+    public static final long SEED = 172488;
+    private static final CatalogGenerator GENERATOR = new CatalogGenerator(
+            CatalogGeneratorConfig.builder().seed(SEED).build());
+
+    public static List<DocumentModel> generate(final int products) {
+        final List<DocumentModel> catalog = new ArrayList<>(products);
+        GENERATOR.iterator(products).forEachRemaining(catalog::add);
+        return catalog;
+    }
+
+    public static Path buildIndex(final int products) throws IOException {
+        return buildIndex(products, IndexBuilderConfig.defaults());
+    }
+
+    public static Path buildIndex(final int products, final IndexBuilderConfig config) throws IOException {
+        final Path path = Files.createTempDirectory("bench_idx");
+        try (IndexBuilder indexBuilder = new IndexBuilder(path.toString(), config)) {
+            final Iterator<DocumentModel> iterator = GENERATOR.iterator(products);
+            while (iterator.hasNext()) {
+                indexBuilder.addProduct(iterator.next());
+            }
+        }
+        return path;
+    }
+
+    public static void delete(final Path index) throws IOException {
+        //children sort after their parent, so reversed order empties each directory before deleting it
+        try (Stream<Path> files = Files.walk(index)) {
+            for (final Path file : files.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    public static long sizeInBytes(final Path index) throws IOException {
+        try (Stream<Path> files = Files.list(index)) {
+            return files.mapToLong(file -> file.toFile().length()).sum();
+        }
+    }
+}
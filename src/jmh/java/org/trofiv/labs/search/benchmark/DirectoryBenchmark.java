@@ -0,0 +1,68 @@
+package org.trofiv.labs.search.benchmark;
+
+import org.apache.lucene.queryparser.classic.ParseException;
+import org.apache.lucene.search.Query;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.trofiv.labs.search.index.DirectoryType;
+import org.trofiv.labs.search.index.IndexSearcher;
+import org.trofiv.labs.search.index.IndexSearcherConfig;
+import org.trofiv.labs.search.index.SearchPage;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DirectoryBenchmark {
+    private static final int PAGE_SIZE = 100;
+    @Param({"100000"})
+    private int products;
+    @Param({"DEFAULT", "MMAP", "NIOFS", "RAM"})
+    private DirectoryType directoryType;
+    @Param({"false", "true"})
+    private boolean preload;
+    @Param({"term", "wildcard", "blockJoin"})
+    private String queryType;
+    private Path index;
+    private IndexSearcher indexSearcher;
+    private Query query;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, ParseException {
+        final IndexSearcherConfig config = IndexSearcherConfig.builder()
+                .directoryType(directoryType)
+                .preload(preload)
+                .build();
+        index = BenchmarkCatalog.buildIndex(products);
+        indexSearcher = new IndexSearcher(index.toString(), config);
+        query = QueryBenchmark.query(queryType);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        indexSearcher.close();
+        BenchmarkCatalog.delete(index);
+    }
+
+    @Benchmark
+    public SearchPage search() {
+        return indexSearcher.search(query, PAGE_SIZE);
+    }
+}
@@ -0,0 +1,53 @@
+package org.trofiv.labs.search.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.trofiv.labs.search.document.DocumentModel;
+import org.trofiv.labs.search.service.DocumentLoader;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class DocumentLoaderBenchmark {
+    @Param({"1000", "10000"})
+    private int products;
+    private byte[] json;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        json = new ObjectMapper().writeValueAsBytes(BenchmarkCatalog.generate(products));
+    }
+
+    @Benchmark
+    public List<DocumentModel> loadDocuments() throws IOException {
+        return DocumentLoader.loadDocuments(new ByteArrayInputStream(json));
+    }
+
+    @Benchmark
+    public void streamDocuments(final Blackhole blackhole) throws IOException {
+        try (Stream<DocumentModel> documents = DocumentLoader.streamDocuments(new ByteArrayInputStream(json))) {
+            documents.forEach(blackhole::consume);
+        }
+    }
+}
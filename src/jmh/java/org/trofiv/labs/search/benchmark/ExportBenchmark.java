@@ -0,0 +1,94 @@
+package org.trofiv.labs.search.benchmark;
+
+import org.apache.lucene.document.Document;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.TermQuery;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.trofiv.labs.search.index.IndexSearcher;
+import org.trofiv.labs.search.service.CatalogFormat;
+import org.trofiv.labs.search.util.DocumentUtils;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+//streaming export versus loading every match and dumping it to a string
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ExportBenchmark {
+    @Param({"10000"})
+    private int products;
+    @Param({"matchAll", "products"})
+    private String queryType;
+    private Path index;
+    private IndexSearcher indexSearcher;
+    private Query query;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        index = BenchmarkCatalog.buildIndex(products);
+        indexSearcher = new IndexSearcher(index.toString());
+        query = "matchAll".equals(queryType)
+                ? new MatchAllDocsQuery()
+                : new TermQuery(new Term("scope", "product"));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        indexSearcher.close();
+        BenchmarkCatalog.delete(index);
+    }
+
+    @Benchmark
+    public long export(final Blackhole blackhole) {
+        return indexSearcher.export(query, Collections.emptySet(), new BlackholeOutputStream(blackhole),
+                CatalogFormat.NDJSON);
+    }
+
+    @Benchmark
+    public void dumpDocuments(final Blackhole blackhole) {
+        for (final Document document : indexSearcher.search(query)) {
+            blackhole.consume(DocumentUtils.dumpDocument(document).getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static final class BlackholeOutputStream extends OutputStream {
+        private final Blackhole blackhole;
+
+        private BlackholeOutputStream(final Blackhole blackhole) {
+            this.blackhole = blackhole;
+        }
+
+        @Override
+        public void write(final int b) {
+            blackhole.consume(b);
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) {
+            blackhole.consume(b);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package org.trofiv.labs.search.benchmark;
+
+import org.apache.lucene.document.Document;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.trofiv.labs.search.document.DocumentModel;
+import org.trofiv.labs.search.index.IndexBuilder;
+import org.trofiv.labs.search.index.IndexingStats;
+import org.trofiv.labs.search.index.ParallelIndexer;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class IndexingBenchmark {
+    private static final int QUEUE_CAPACITY_PER_WORKER = 64;
+    @Param({"1000", "10000"})
+    private int products;
+    @Param({"1", "4"})
+    private int workers;
+    private List<DocumentModel> catalog;
+    private DocumentModel product;
+    //deleted once per trial so the single shots don't pay for removing the previous index
+    private final List<Path> indexes = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        catalog = BenchmarkCatalog.generate(products);
+        product = catalog.get(0);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        for (final Path index : indexes) {
+            BenchmarkCatalog.delete(index);
+        }
+        indexes.clear();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public IndexingStats indexCatalog() throws IOException {
+        final Path path = Files.createTempDirectory("bench_indexing");
+        indexes.add(path);
+        try (IndexBuilder indexBuilder = new IndexBuilder(path.toString())) {
+            return new ParallelIndexer(indexBuilder, workers, workers * QUEUE_CAPACITY_PER_WORKER)
+                    .index(catalog.iterator());
+        }
+    }
+
+    //run with -prof gc to read the allocation rate per converted product
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public List<Document> toLuceneDocument() {
+        return product.toLuceneDocument();
+    }
+}
@@ -0,0 +1,73 @@
+package org.trofiv.labs.search.benchmark;
+
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.WildcardQuery;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.trofiv.labs.search.index.IndexBuilderConfig;
+import org.trofiv.labs.search.index.IndexSearcher;
+import org.trofiv.labs.search.search.ngram.NGramWildcardQuery;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+//wildcard expansion versus gram subfield lookups, index sizes are printed on setup
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class NGramBenchmark {
+    @Param({"10000"})
+    private int products;
+    @Param({"i*", "incid*", "*re*", "*dunt*"})
+    private String pattern;
+    private Path plain;
+    private Path ngram;
+    private IndexSearcher plainSearcher;
+    private IndexSearcher ngramSearcher;
+    private Term term;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        plain = BenchmarkCatalog.buildIndex(products);
+        ngram = BenchmarkCatalog.buildIndex(products,
+                IndexBuilderConfig.builder().ngramSubfields(true).build());
+        System.out.printf("%nindex size: plain=%d bytes, ngram=%d bytes%n",
+                BenchmarkCatalog.sizeInBytes(plain), BenchmarkCatalog.sizeInBytes(ngram));
+        plainSearcher = new IndexSearcher(plain.toString());
+        ngramSearcher = new IndexSearcher(ngram.toString());
+        term = new Term("description", pattern);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        plainSearcher.close();
+        ngramSearcher.close();
+        BenchmarkCatalog.delete(plain);
+        BenchmarkCatalog.delete(ngram);
+    }
+
+    @Benchmark
+    public int wildcard() {
+        return plainSearcher.count(new WildcardQuery(term));
+    }
+
+    @Benchmark
+    public int ngram() {
+        return ngramSearcher.count(new NGramWildcardQuery(term));
+    }
+}
@@ -0,0 +1,109 @@
+package org.trofiv.labs.search.benchmark;
+
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.classic.ParseException;
+import org.apache.lucene.queryparser.classic.QueryParser;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.WildcardQuery;
+import org.apache.lucene.search.join.ScoreMode;
+import org.apache.lucene.search.join.ToParentBlockJoinQuery;
+import org.apache.lucene.search.spans.SpanNearQuery;
+import org.apache.lucene.search.spans.SpanQuery;
+import org.apache.lucene.search.spans.SpanTermQuery;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.trofiv.labs.search.index.BlockFilters;
+import org.trofiv.labs.search.index.IndexSearcher;
+import org.trofiv.labs.search.index.SearchPage;
+import org.trofiv.labs.search.search.even.EvenQuery;
+import org.trofiv.labs.search.search.random.RandomizedCustomScoreQuery;
+import org.trofiv.labs.search.search.random.RandomizedScoreQuery;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class QueryBenchmark {
+    private static final int PAGE_SIZE = 100;
+    @Param({"1000", "10000", "100000"})
+    private int products;
+    @Param({"term", "fuzzy", "prefix", "wildcard", "span", "even", "randomized", "randomizedCustom", "blockJoin"})
+    private String queryType;
+    private Path index;
+    private IndexSearcher indexSearcher;
+    private Query query;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, ParseException {
+        index = BenchmarkCatalog.buildIndex(products);
+        indexSearcher = new IndexSearcher(index.toString());
+        query = query(queryType);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        indexSearcher.close();
+        BenchmarkCatalog.delete(index);
+    }
+
+    @Benchmark
+    public SearchPage search() {
+        return indexSearcher.search(query, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public int count() {
+        return indexSearcher.count(query);
+    }
+
+    static Query query(final String queryType) throws ParseException {
+        switch (queryType) {
+            case "term":
+                return new TermQuery(new Term("color", "black"));
+            case "fuzzy":
+                return new QueryParser("description", new StandardAnalyzer()).parse("incididunt~0.7");
+            case "prefix":
+                return new PrefixQuery(new Term("description", "incid"));
+            case "wildcard":
+                return new WildcardQuery(new Term("description", "*cid*"));
+            case "span":
+                return new SpanNearQuery(new SpanQuery[]{
+                        new SpanTermQuery(new Term("description", "commodo")),
+                        new SpanTermQuery(new Term("description", "nulla"))},
+                        2,
+                        true);
+            case "even":
+                return new EvenQuery();
+            case "randomized":
+                return new RandomizedScoreQuery();
+            case "randomizedCustom":
+                return new RandomizedCustomScoreQuery(new MatchAllDocsQuery());
+            case "blockJoin":
+                return new ToParentBlockJoinQuery(new TermQuery(new Term("color", "black")),
+                        BlockFilters.PRODUCTS, ScoreMode.None);
+            default:
+                throw new IllegalArgumentException("Unknown query type: " + queryType);
+        }
+    }
+}
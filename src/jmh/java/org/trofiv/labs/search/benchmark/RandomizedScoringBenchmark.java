@@ -0,0 +1,100 @@
+package org.trofiv.labs.search.benchmark;
+
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.Scorer;
+import org.apache.lucene.search.SimpleCollector;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.trofiv.labs.search.index.IndexSearcher;
+import org.trofiv.labs.search.search.random.RandomizedCustomScoreQuery;
+import org.trofiv.labs.search.search.random.RandomizedScoreQuery;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+//scores every doc without keeping hits, so -prof gc shows the scoring path alone
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RandomizedScoringBenchmark {
+    @Param({"10000"})
+    private int products;
+    @Param({"matchAll", "randomized", "randomizedCustom"})
+    private String queryType;
+    private Path index;
+    private IndexSearcher indexSearcher;
+    private Query query;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        index = BenchmarkCatalog.buildIndex(products);
+        indexSearcher = new IndexSearcher(index.toString());
+        switch (queryType) {
+            case "matchAll":
+                query = new MatchAllDocsQuery();
+                break;
+            case "randomized":
+                query = new RandomizedScoreQuery();
+                break;
+            case "randomizedCustom":
+                query = new RandomizedCustomScoreQuery(new MatchAllDocsQuery());
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown query type: " + queryType);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        indexSearcher.close();
+        BenchmarkCatalog.delete(index);
+    }
+
+    @Benchmark
+    public double scoreAll() throws IOException {
+        final ScoreSumCollector collector = new ScoreSumCollector();
+        final org.apache.lucene.search.IndexSearcher searcher = indexSearcher.acquire();
+        try {
+            searcher.search(query, collector);
+        } finally {
+            indexSearcher.release(searcher);
+        }
+        return collector.sum;
+    }
+
+    private static final class ScoreSumCollector extends SimpleCollector {
+        private Scorer scorer;
+        private double sum;
+
+        @Override
+        public void setScorer(final Scorer scorer) {
+            this.scorer = scorer;
+        }
+
+        @Override
+        public void collect(final int doc) throws IOException {
+            sum += scorer.score();
+        }
+
+        @Override
+        public boolean needsScores() {
+            return true;
+        }
+    }
+}
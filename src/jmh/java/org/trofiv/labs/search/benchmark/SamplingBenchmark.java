@@ -0,0 +1,75 @@
+package org.trofiv.labs.search.benchmark;
+
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.TermQuery;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.trofiv.labs.search.index.IndexSearcher;
+import org.trofiv.labs.search.index.Sample;
+import org.trofiv.labs.search.index.SearchPage;
+import org.trofiv.labs.search.search.random.RandomizedCustomScoreQuery;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+//random k docs through sampling versus ranking the filter by a random score
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SamplingBenchmark {
+    private static final Set<String> ID_FIELDS = Collections.singleton("id");
+    @Param({"10000"})
+    private int products;
+    @Param({"matchAll", "products"})
+    private String filterType;
+    @Param({"10", "1000"})
+    private int k;
+    private Path index;
+    private IndexSearcher indexSearcher;
+    private Query filter;
+    private long seed;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        index = BenchmarkCatalog.buildIndex(products);
+        indexSearcher = new IndexSearcher(index.toString());
+        filter = "matchAll".equals(filterType)
+                ? new MatchAllDocsQuery()
+                : new TermQuery(new Term("scope", "product"));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        indexSearcher.close();
+        BenchmarkCatalog.delete(index);
+    }
+
+    @Benchmark
+    public Sample sample() {
+        return indexSearcher.sample(filter, k, seed++, ID_FIELDS);
+    }
+
+    @Benchmark
+    public SearchPage randomizedTopK() {
+        return indexSearcher.search(new RandomizedCustomScoreQuery(filter, seed++), k);
+    }
+}
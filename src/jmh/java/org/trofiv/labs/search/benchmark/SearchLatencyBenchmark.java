@@ -0,0 +1,92 @@
+package org.trofiv.labs.search.benchmark;
+
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.classic.ParseException;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.spans.SpanContainingQuery;
+import org.apache.lucene.search.spans.SpanNearQuery;
+import org.apache.lucene.search.spans.SpanQuery;
+import org.apache.lucene.search.spans.SpanTermQuery;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.trofiv.labs.search.index.IndexBuilderConfig;
+import org.trofiv.labs.search.index.IndexSearcher;
+import org.trofiv.labs.search.index.IndexSearcherConfig;
+import org.trofiv.labs.search.index.SearchPage;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+//sample time reports the p50/p99 latency of one query against the size of the intra-query search pool
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SearchLatencyBenchmark {
+    private static final int PAGE_SIZE = 100;
+    //small flushes leave enough segments to spread across the pool
+    private static final double RAM_BUFFER_SIZE_MB = 8;
+    @Param("100000")
+    private int products;
+    @Param({"0", "1", "2", "4", "8"})
+    private int searchThreads;
+    @Param({"fuzzy", "wildcard", "spanNear", "spanContaining"})
+    private String queryType;
+    private Path index;
+    private IndexSearcher indexSearcher;
+    private Query query;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, ParseException {
+        final IndexBuilderConfig builderConfig = IndexBuilderConfig.builder()
+                .ramBufferSizeMB(RAM_BUFFER_SIZE_MB)
+                .build();
+        final IndexSearcherConfig searcherConfig = IndexSearcherConfig.builder()
+                .searchThreads(searchThreads)
+                .build();
+        index = BenchmarkCatalog.buildIndex(products, builderConfig);
+        indexSearcher = new IndexSearcher(index.toString(), searcherConfig);
+        query = query(queryType);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        indexSearcher.close();
+        BenchmarkCatalog.delete(index);
+    }
+
+    @Benchmark
+    public SearchPage search() {
+        return indexSearcher.search(query, PAGE_SIZE);
+    }
+
+    private static Query query(final String queryType) throws ParseException {
+        switch (queryType) {
+            case "spanNear":
+                return QueryBenchmark.query("span");
+            case "spanContaining":
+                return new SpanContainingQuery((SpanQuery) QueryBenchmark.query("span"),
+                        new SpanNearQuery(new SpanQuery[]{
+                                new SpanTermQuery(new Term("description", "sint")),
+                                new SpanTermQuery(new Term("description", "nulla"))},
+                                1,
+                                true));
+            default:
+                return QueryBenchmark.query(queryType);
+        }
+    }
+}
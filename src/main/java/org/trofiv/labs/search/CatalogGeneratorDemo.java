@@ -0,0 +1,36 @@
+package org.trofiv.labs.search;
+
+import lombok.extern.log4j.Log4j2;
+import org.trofiv.labs.search.service.CatalogFormat;
+import org.trofiv.labs.search.service.CatalogGenerator;
+import org.trofiv.labs.search.service.CatalogGeneratorConfig;
+
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+
+@Log4j2
+@SuppressWarnings("UtilityClassCanBeEnum")
+public final class CatalogGeneratorDemo {
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private CatalogGeneratorDemo() {
+    }
+
+    public static void main(final String[] args) {
+        final String outputFile = args[0];
+        final long products = Long.parseLong(args[1]);
+        final CatalogFormat format = args.length > 2 ? CatalogFormat.valueOf(args[2]) : CatalogFormat.JSON_ARRAY;
+        final long seed = args.length > 3 ? Long.parseLong(args[3]) : 0;
+
+        final CatalogGenerator generator = new CatalogGenerator(CatalogGeneratorConfig.builder().seed(seed).build());
+        final long start = System.nanoTime();
+        try (final OutputStream stream = new BufferedOutputStream(new FileOutputStream(outputFile), BUFFER_SIZE)) {
+            generator.write(stream, products, format);
+        } catch (Exception e) {
+            throw new IllegalStateException("Can't generate a catalog into " + outputFile, e);
+        }
+        log.info("Generated {} products as {} into {} in {} ms", products, format, outputFile,
+                (System.nanoTime() - start) / 1_000_000);
+    }
+}
@@ -1,41 +1,43 @@
 package org.trofiv.labs.search;
 
+import lombok.extern.log4j.Log4j2;
 import org.trofiv.labs.search.document.DocumentModel;
 import org.trofiv.labs.search.index.IndexBuilder;
+import org.trofiv.labs.search.index.IndexBuilderConfig;
+import org.trofiv.labs.search.index.IndexingStats;
+import org.trofiv.labs.search.index.ParallelIndexer;
 import org.trofiv.labs.search.service.DocumentLoader;
 
+import java.io.BufferedInputStream;
 import java.io.FileInputStream;
-import java.io.IOException;
 import java.io.InputStream;
-import java.util.List;
+import java.util.stream.Stream;
 
+@Log4j2
 @SuppressWarnings("UtilityClassCanBeEnum")
 public final class IndexBuilderDemo {
+    private static final int QUEUE_CAPACITY_PER_WORKER = 64;
+    private static final double PARALLEL_RAM_BUFFER_MB = 256;
+
     private IndexBuilderDemo() {
     }
 
     public static void main(final String[] args) {
         final String indexedFile = args[0];
         final String indexLocation = args[1];
+        final int workers = args.length > 2 ? Integer.parseInt(args[2]) : 1;
 
-        final List<DocumentModel> docs;
-        try (final InputStream stream = new FileInputStream(indexedFile)) {
-            docs = DocumentLoader.loadDocuments(stream);
-        } catch (IOException e) {
-            throw new IllegalStateException("Can't load documents from " + indexedFile, e);
-        }
-        try (IndexBuilder indexBuilder = new IndexBuilder(indexLocation)) {
-            docs.stream()
-                    .map(DocumentModel::toLuceneDocument)
-                    .forEach(docList -> {
-                        try {
-                            indexBuilder.addDocuments(docList);
-                        } catch (IOException e) {
-                            throw new IllegalStateException("Can't store documents: " + docList, e);
-                        }
-                    });
+        final IndexBuilderConfig config = workers > 1
+                ? IndexBuilderConfig.builder().ramBufferSizeMB(PARALLEL_RAM_BUFFER_MB).build()
+                : IndexBuilderConfig.defaults();
+        try (final InputStream stream = new BufferedInputStream(new FileInputStream(indexedFile));
+             final Stream<DocumentModel> docs = DocumentLoader.streamDocuments(stream);
+             final IndexBuilder indexBuilder = new IndexBuilder(indexLocation, config)) {
+            final IndexingStats stats = new ParallelIndexer(indexBuilder, workers, workers * QUEUE_CAPACITY_PER_WORKER)
+                    .index(docs.iterator());
+            log.info("Indexed {} into {} with {} worker(s): {}", indexedFile, indexLocation, workers, stats);
         } catch (Exception e) {
-            throw new IllegalStateException("Can't create an index!", e);
+            throw new IllegalStateException("Can't create an index from " + indexedFile, e);
         }
     }
 }
@@ -1,59 +1,55 @@
 package org.trofiv.labs.search;
 
-import org.apache.lucene.document.Document;
+import org.apache.lucene.index.Term;
 import org.apache.lucene.search.BooleanClause.Occur;
 import org.apache.lucene.search.BooleanQuery.Builder;
-import org.apache.lucene.search.PhraseQuery;
 import org.apache.lucene.search.Query;
-import org.trofiv.labs.search.document.DocumentModel;
+import org.apache.lucene.search.TermQuery;
+import org.trofiv.labs.search.index.BlockHit;
 import org.trofiv.labs.search.index.IndexSearcher;
-import org.trofiv.labs.search.service.DocumentLoader;
-import org.trofiv.labs.search.util.DocumentUtils;
+import org.trofiv.labs.search.service.CatalogFormat;
 
-import java.io.FileInputStream;
+import java.io.BufferedOutputStream;
 import java.io.IOException;
-import java.io.InputStream;
-import java.util.List;
-import java.util.Map;
-import java.util.Objects;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Collections;
 
+//prints block hits of a sample query, or exports all matches to args[1] when given
 @SuppressWarnings("UtilityClassCanBeEnum")
 public final class IndexSearcherDemo {
+    private static final int MAX_HITS = 100;
+
     private IndexSearcherDemo() {
     }
 
     public static void main(final String[] args) throws IOException {
-        final String dataLocation = args[0];
-        final String indexLocation = args[1];
-        final List<Document> docModels;
-        try (final InputStream stream = new FileInputStream(dataLocation)) {
-            docModels = DocumentLoader.loadDocuments(stream).stream()
-                    .map(DocumentModel::toLuceneDocument).flatMap(List::stream).collect(Collectors.toList());
-        } catch (IOException e) {
-            throw new IllegalStateException("Can't load documents from " + dataLocation, e);
-        }
-        final Map<String, Document> rootIndex = DocumentUtils.indexDocuments(docModels, "id");
-        final Map<String, Document> skuIndex = DocumentUtils.indexDocuments(
-                docModels, "skuId", doc -> doc.getField("productId") != null);
-        final IndexSearcher indexSearcher = new IndexSearcher(indexLocation);
-
-        final Query query1 = new PhraseQuery("color", "black");
-        final Query query2 = new PhraseQuery("size", "S");
+        final String indexLocation = args[0];
         final Query query = new Builder()
-                .add(query1, Occur.MUST)
-                .add(query2, Occur.MUST)
+                .add(new TermQuery(new Term("color", "black")), Occur.MUST)
+                .add(new TermQuery(new Term("size", "S")), Occur.MUST)
                 .build();
 
-        indexSearcher.search(query).forEach(doc -> {
-            final Document rootDoc = rootIndex.get(DocumentUtils.getFieldValue(doc, "id"));
-            final Document skuDoc = skuIndex.get(DocumentUtils.getFieldValue(doc, "skuId"));
-            Stream.of(doc, rootDoc, skuDoc)
-                    .filter(Objects::nonNull)
-                    .map(DocumentUtils::dumpDocument)
-                    .forEach(System.out::print);
-            System.out.println();
-        });
+        try (IndexSearcher indexSearcher = new IndexSearcher(indexLocation)) {
+            if (args.length > 1) {
+                final CatalogFormat format = args.length > 2 ? CatalogFormat.valueOf(args[2]) : CatalogFormat.NDJSON;
+                try (OutputStream outputStream = new BufferedOutputStream(Files.newOutputStream(Paths.get(args[1])))) {
+                    final long exported = indexSearcher.export(query, Collections.emptySet(), outputStream, format);
+                    System.out.println("exported=" + exported);
+                }
+                return;
+            }
+            for (final BlockHit hit : indexSearcher.blockSearch(query, MAX_HITS)) {
+                final StringBuilder line = new StringBuilder("product=").append(hit.getProduct().get("id"));
+                if (hit.hasSku()) {
+                    line.append(" sku=").append(hit.getSku().get("skuId"));
+                }
+                if (hit.hasPrice()) {
+                    line.append(" price=").append(hit.getPrice());
+                }
+                System.out.println(line.append(" score=").append(hit.getScore()));
+            }
+        }
     }
 }
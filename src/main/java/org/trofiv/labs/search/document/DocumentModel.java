@@ -4,10 +4,14 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Value;
 import org.apache.lucene.document.Document;
 import org.apache.lucene.document.Field.Store;
+import org.apache.lucene.document.FloatDocValuesField;
 import org.apache.lucene.document.FloatPoint;
+import org.apache.lucene.document.SortedSetDocValuesField;
 import org.apache.lucene.document.StringField;
 import org.apache.lucene.document.TextField;
+import org.apache.lucene.util.BytesRef;
 
+import java.util.DoubleSummaryStatistics;
 import java.util.List;
 import java.util.Set;
 import java.util.function.Function;
@@ -16,6 +20,13 @@ import java.util.stream.Stream;
 
 @Value
 public class DocumentModel {
+    public static final String PRODUCT_ID_FIELD = "productId";
+    public static final String MIN_PRICE_FIELD = "minPrice";
+    public static final String MAX_PRICE_FIELD = "maxPrice";
+    public static final String SKU_MIN_PRICE_FIELD = "skuMinPrice";
+    public static final String SKU_MAX_PRICE_FIELD = "skuMaxPrice";
+    //product-level sort key carried by every document of the block, so sorting never splits a block
+    public static final String BLOCK_PRICE_FIELD = "blockPrice";
     @JsonProperty
     String id;
     @JsonProperty
@@ -34,27 +45,55 @@ public class DocumentModel {
     }
 
     public List<Document> toLuceneDocument() {
+        return toLuceneDocument(false);
+    }
+
+    //ngram subfields need NGramFields.indexAnalyzer() on the writer
+    public List<Document> toLuceneDocument(final boolean ngramSubfields) {
+        final float blockPrice = (float) sku.stream()
+                .flatMap(skuModel -> skuModel.getPrices().stream())
+                .mapToDouble(PriceInfoModel::getPrice)
+                .min()
+                .orElse(Float.POSITIVE_INFINITY);
         final Document rootDocument = new Document();
         rootDocument.add(new StringField("id", id, Store.YES));
+        rootDocument.add(new StringField(PRODUCT_ID_FIELD, id, Store.NO));
         rootDocument.add(new StringField("scope", "product", Store.NO));
         rootDocument.add(new TextField("brand", brand, Store.NO));
+        rootDocument.add(new SortedSetDocValuesField("brand", new BytesRef(brand)));
         rootDocument.add(new TextField("description", description, Store.NO));
         rootDocument.add(new StringField("gender", gender, Store.NO));
+        rootDocument.add(new SortedSetDocValuesField("gender", new BytesRef(gender)));
         rootDocument.add(new TextField("name", name, Store.NO));
+        rootDocument.add(new FloatDocValuesField(BLOCK_PRICE_FIELD, blockPrice));
+        if (ngramSubfields) {
+            NGramFields.addGrams(rootDocument, "description", description);
+            NGramFields.addGrams(rootDocument, "name", name);
+        }
+        addPriceRange(rootDocument, MIN_PRICE_FIELD, MAX_PRICE_FIELD,
+                sku.stream().flatMap(skuModel -> skuModel.getPrices().stream()));
 
         final Stream<Document> skuDocuments = sku.stream().map(skuModel -> {
             final Document skuDocument = new Document();
             //noinspection TooBroadScope
             skuDocument.add(new StringField("scope", "sku", Store.NO));
+            skuDocument.add(new StringField(PRODUCT_ID_FIELD, id, Store.NO));
             skuDocument.add(new StringField("skuId", skuModel.getSkuId(), Store.YES));
             skuDocument.add(new StringField("color", skuModel.getColor(), Store.NO));
+            skuDocument.add(new SortedSetDocValuesField("color", new BytesRef(skuModel.getColor())));
             skuDocument.add(new StringField("size", skuModel.getSize(), Store.NO));
+            skuDocument.add(new SortedSetDocValuesField("size", new BytesRef(skuModel.getSize())));
+            skuDocument.add(new FloatDocValuesField(BLOCK_PRICE_FIELD, blockPrice));
+            addPriceRange(skuDocument, SKU_MIN_PRICE_FIELD, SKU_MAX_PRICE_FIELD, skuModel.getPrices().stream());
 
             final Stream<Document> priceDocuments = skuModel.getPrices().stream().map(priceInfoModel -> {
                 final Document priceDocument = new Document();
                 priceDocument.add(new StringField("scope", "price", Store.NO));
+                priceDocument.add(new StringField(PRODUCT_ID_FIELD, id, Store.NO));
                 priceDocument.add(new TextField("address", priceInfoModel.getAddress(), Store.NO));
                 priceDocument.add(new FloatPoint("price", priceInfoModel.getPrice()));
+                priceDocument.add(new FloatDocValuesField("price", priceInfoModel.getPrice()));
+                priceDocument.add(new FloatDocValuesField(BLOCK_PRICE_FIELD, blockPrice));
                 return priceDocument;
             });
 
@@ -63,4 +102,20 @@ public class DocumentModel {
 
         return Stream.concat(skuDocuments, Stream.of(rootDocument)).collect(Collectors.toList());
     }
+
+    private static void addPriceRange(final Document document,
+                                      final String minField,
+                                      final String maxField,
+                                      final Stream<PriceInfoModel> prices) {
+        final DoubleSummaryStatistics range = prices.mapToDouble(PriceInfoModel::getPrice).summaryStatistics();
+        if (range.getCount() == 0) {
+            return;
+        }
+        final float min = (float) range.getMin();
+        final float max = (float) range.getMax();
+        document.add(new FloatPoint(minField, min));
+        document.add(new FloatDocValuesField(minField, min));
+        document.add(new FloatPoint(maxField, max));
+        document.add(new FloatDocValuesField(maxField, max));
+    }
 }
@@ -0,0 +1,79 @@
+package org.trofiv.labs.search.document;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.LowerCaseFilter;
+import org.apache.lucene.analysis.StopFilter;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.miscellaneous.PerFieldAnalyzerWrapper;
+import org.apache.lucene.analysis.ngram.EdgeNGramTokenFilter;
+import org.apache.lucene.analysis.ngram.NGramTokenFilter;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.analysis.standard.StandardFilter;
+import org.apache.lucene.analysis.standard.StandardTokenizer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.FieldType;
+import org.apache.lucene.index.IndexOptions;
+
+import java.util.HashMap;
+import java.util.Map;
+
+//edge grams are prefixes and ngrams substrings of the parent field terms
+public enum NGramFields {
+    ;
+    public static final String[] FIELDS = {"description", "name"};
+    public static final int EDGE_MIN_GRAM = 1;
+    public static final int EDGE_MAX_GRAM = 12;
+    public static final int NGRAM_MIN_GRAM = 2;
+    public static final int NGRAM_MAX_GRAM = 5;
+    //only ever matched as constant score filters, so frequencies, positions and norms are dead weight
+    private static final FieldType GRAM_TYPE = new FieldType();
+
+    static {
+        GRAM_TYPE.setTokenized(true);
+        GRAM_TYPE.setIndexOptions(IndexOptions.DOCS);
+        GRAM_TYPE.setOmitNorms(true);
+        GRAM_TYPE.freeze();
+    }
+
+    public static String edge(final String field) {
+        return field + ".edge";
+    }
+
+    public static String ngram(final String field) {
+        return field + ".ngram";
+    }
+
+    //grams are cut from the same token chain as the parent field
+    public static Analyzer indexAnalyzer() {
+        final Map<String, Analyzer> analyzers = new HashMap<>();
+        for (final String field : FIELDS) {
+            analyzers.put(edge(field), new GramAnalyzer(true));
+            analyzers.put(ngram(field), new GramAnalyzer(false));
+        }
+        return new PerFieldAnalyzerWrapper(new StandardAnalyzer(), analyzers);
+    }
+
+    static void addGrams(final Document document, final String field, final String value) {
+        document.add(new Field(edge(field), value, GRAM_TYPE));
+        document.add(new Field(ngram(field), value, GRAM_TYPE));
+    }
+
+    private static final class GramAnalyzer extends Analyzer {
+        private final boolean edge;
+
+        private GramAnalyzer(final boolean edge) {
+            this.edge = edge;
+        }
+
+        @Override
+        protected TokenStreamComponents createComponents(final String fieldName) {
+            final StandardTokenizer source = new StandardTokenizer();
+            final TokenStream terms = new StopFilter(new LowerCaseFilter(new StandardFilter(source)),
+                    StandardAnalyzer.STOP_WORDS_SET);
+            return new TokenStreamComponents(source, edge
+                    ? new EdgeNGramTokenFilter(terms, EDGE_MIN_GRAM, EDGE_MAX_GRAM)
+                    : new NGramTokenFilter(terms, NGRAM_MIN_GRAM, NGRAM_MAX_GRAM));
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package org.trofiv.labs.search.facet;
+
+import org.apache.lucene.index.DocValues;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.SortedSetDocValues;
+import org.apache.lucene.search.SimpleCollector;
+import org.apache.lucene.search.join.BitSetProducer;
+import org.apache.lucene.util.ArrayUtil;
+import org.apache.lucene.util.BitSet;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+public class FacetCollector extends SimpleCollector {
+    public static final List<String> PRODUCT_FIELDS = Arrays.asList("brand", "gender");
+    public static final List<String> SKU_FIELDS = Arrays.asList("color", "size");
+    private final BitSetProducer productsFilter;
+    private final BitSetProducer skusFilter;
+    private final List<FieldCounter> productCounters;
+    private final List<FieldCounter> skuCounters;
+    private BitSet products;
+    private BitSet skus;
+    private int matchedProducts;
+
+    public FacetCollector(final BitSetProducer productsFilter, final BitSetProducer skusFilter) {
+        this.productsFilter = productsFilter;
+        this.skusFilter = skusFilter;
+        this.productCounters = PRODUCT_FIELDS.stream().map(FieldCounter::new).collect(Collectors.toList());
+        this.skuCounters = SKU_FIELDS.stream().map(FieldCounter::new).collect(Collectors.toList());
+    }
+
+    @Override
+    protected void doSetNextReader(final LeafReaderContext context) throws IOException {
+        flush();
+        products = productsFilter.getBitSet(context);
+        skus = skusFilter.getBitSet(context);
+        for (final FieldCounter counter : productCounters) {
+            counter.reset(DocValues.getSortedSet(context.reader(), counter.field));
+        }
+        for (final FieldCounter counter : skuCounters) {
+            counter.reset(DocValues.getSortedSet(context.reader(), counter.field));
+        }
+    }
+
+    @Override
+    public void collect(final int doc) {
+        //only products are faceted, SKU values are rolled up to the product owning them
+        if (products == null || !products.get(doc)) {
+            return;
+        }
+        matchedProducts++;
+        for (final FieldCounter counter : productCounters) {
+            counter.count(doc, doc);
+        }
+        if (skus == null || doc == 0) {
+            return;
+        }
+        final int firstChild = products.prevSetBit(doc - 1) + 1;
+        for (int sku = skus.nextSetBit(firstChild); sku < doc; sku = skus.nextSetBit(sku + 1)) {
+            for (final FieldCounter counter : skuCounters) {
+                counter.count(sku, doc);
+            }
+        }
+    }
+
+    @Override
+    public boolean needsScores() {
+        return false;
+    }
+
+    public FacetCounts getFacetCounts() {
+        flush();
+        final Map<String, Map<String, Integer>> counts = new HashMap<>();
+        productCounters.forEach(counter -> counts.put(counter.field, counter.totals));
+        skuCounters.forEach(counter -> counts.put(counter.field, counter.totals));
+        return new FacetCounts(matchedProducts, counts);
+    }
+
+    private void flush() {
+        productCounters.forEach(FieldCounter::flush);
+        skuCounters.forEach(FieldCounter::flush);
+    }
+
+    private static final class FieldCounter {
+        private final String field;
+        private final Map<String, Integer> totals = new HashMap<>();
+        private SortedSetDocValues values;
+        private int[] counts = new int[0];
+        //product doc + 1 that last bumped each ordinal, so a value counts once per product
+        private int[] lastProduct = new int[0];
+        private int valueCount;
+
+        private FieldCounter(final String field) {
+            this.field = field;
+        }
+
+        private void reset(final SortedSetDocValues values) {
+            this.values = values;
+            valueCount = Math.toIntExact(values.getValueCount());
+            if (counts.length < valueCount) {
+                counts = new int[ArrayUtil.oversize(valueCount, Integer.BYTES)];
+                lastProduct = new int[counts.length];
+            } else {
+                Arrays.fill(counts, 0, valueCount, 0);
+                Arrays.fill(lastProduct, 0, valueCount, 0);
+            }
+        }
+
+        private void count(final int doc, final int productDoc) {
+            values.setDocument(doc);
+            for (long ord = values.nextOrd(); ord != SortedSetDocValues.NO_MORE_ORDS; ord = values.nextOrd()) {
+                final int i = (int) ord;
+                if (lastProduct[i] != productDoc + 1) {
+                    lastProduct[i] = productDoc + 1;
+                    counts[i]++;
+                }
+            }
+        }
+
+        private void flush() {
+            if (values == null) {
+                return;
+            }
+            for (int ord = 0; ord < valueCount; ord++) {
+                if (counts[ord] > 0) {
+                    totals.merge(values.lookupOrd(ord).utf8ToString(), counts[ord], Integer::sum);
+                }
+            }
+            values = null;
+        }
+    }
+}
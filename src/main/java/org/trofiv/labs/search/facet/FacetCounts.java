@@ -0,0 +1,32 @@
+package org.trofiv.labs.search.facet;
+
+import lombok.Value;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.stream.Collectors;
+
+@Value
+public class FacetCounts {
+    int products;
+    Map<String, Map<String, Integer>> counts;
+
+    public Map<String, Integer> get(final String field) {
+        return counts.getOrDefault(field, Collections.emptyMap());
+    }
+
+    public int get(final String field, final String value) {
+        return get(field).getOrDefault(value, 0);
+    }
+
+    public List<Entry<String, Integer>> top(final String field, final int n) {
+        return get(field).entrySet().stream()
+                .sorted(Entry.<String, Integer>comparingByValue(Comparator.reverseOrder())
+                        .thenComparing(Entry.comparingByKey()))
+                .limit(n)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,13 @@
+package org.trofiv.labs.search.index;
+
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.join.BitSetProducer;
+import org.apache.lucene.search.join.QueryBitSetProducer;
+
+public enum BlockFilters {
+    ;
+    //shared so that every caller hits the same per-segment bitset cache
+    public static final BitSetProducer PRODUCTS = new QueryBitSetProducer(new TermQuery(new Term("scope", "product")));
+    public static final BitSetProducer SKUS = new QueryBitSetProducer(new TermQuery(new Term("scope", "sku")));
+}
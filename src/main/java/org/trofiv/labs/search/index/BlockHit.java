@@ -0,0 +1,25 @@
+package org.trofiv.labs.search.index;
+
+import lombok.Value;
+
+@Value
+public class BlockHit {
+    int doc;
+    float score;
+    Level level;
+    Hit product;
+    Hit sku;
+    float price;
+
+    public boolean hasSku() {
+        return sku != null;
+    }
+
+    public boolean hasPrice() {
+        return level == Level.PRICE;
+    }
+
+    public enum Level {
+        PRODUCT, SKU, PRICE
+    }
+}
@@ -0,0 +1,78 @@
+package org.trofiv.labs.search.index;
+
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.NumericDocValues;
+import org.apache.lucene.index.ReaderUtil;
+import org.apache.lucene.search.DocIdSetIterator;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.util.BitSet;
+import org.trofiv.labs.search.index.BlockHit.Level;
+import org.trofiv.labs.search.metrics.QueryMetrics;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+//a block is price* sku (price* sku)* product, so enclosing docs are the next set bits
+class BlockHitResolver {
+    private static final Set<String> PRODUCT_FIELDS = Collections.singleton("id");
+    private static final Set<String> SKU_FIELDS = Collections.singleton("skuId");
+    private final IndexReader reader;
+    private final List<LeafReaderContext> leaves;
+    private final BitSet[] products;
+    private final BitSet[] skus;
+    private final NumericDocValues[] prices;
+    private final QueryMetrics metrics;
+
+    BlockHitResolver(final IndexReader reader, final QueryMetrics metrics) {
+        this.reader = reader;
+        this.metrics = metrics;
+        this.leaves = reader.leaves();
+        this.products = new BitSet[leaves.size()];
+        this.skus = new BitSet[leaves.size()];
+        this.prices = new NumericDocValues[leaves.size()];
+    }
+
+    BlockHit resolve(final ScoreDoc scoreDoc) throws IOException {
+        final int leafIndex = ReaderUtil.subIndex(scoreDoc.doc, leaves);
+        final LeafReaderContext leaf = leaves.get(leafIndex);
+        if (products[leafIndex] == null) {
+            products[leafIndex] = BlockFilters.PRODUCTS.getBitSet(leaf);
+            skus[leafIndex] = BlockFilters.SKUS.getBitSet(leaf);
+        }
+        final BitSet productBits = products[leafIndex];
+        final BitSet skuBits = skus[leafIndex];
+        if (productBits == null || skuBits == null) {
+            throw new IllegalStateException("Segment " + leaf + " holds no product blocks");
+        }
+
+        final int doc = scoreDoc.doc - leaf.docBase;
+        final int productDoc = productBits.nextSetBit(doc);
+        if (productDoc == DocIdSetIterator.NO_MORE_DOCS) {
+            throw new IllegalStateException("Document " + scoreDoc.doc + " is not followed by a product");
+        }
+        final Hit product = new Hit(reader, PRODUCT_FIELDS, leaf.docBase + productDoc, scoreDoc.score, metrics);
+        if (doc == productDoc) {
+            return new BlockHit(scoreDoc.doc, scoreDoc.score, Level.PRODUCT, product, null, Float.NaN);
+        }
+        final int skuDoc = skuBits.nextSetBit(doc);
+        //a sku past the product belongs to the next block
+        if (skuDoc == DocIdSetIterator.NO_MORE_DOCS || skuDoc > productDoc) {
+            throw new IllegalStateException("Document " + scoreDoc.doc + " is not followed by a SKU of its product");
+        }
+        final Hit sku = new Hit(reader, SKU_FIELDS, leaf.docBase + skuDoc, scoreDoc.score, metrics);
+        if (doc == skuDoc) {
+            return new BlockHit(scoreDoc.doc, scoreDoc.score, Level.SKU, product, sku, Float.NaN);
+        }
+        return new BlockHit(scoreDoc.doc, scoreDoc.score, Level.PRICE, product, sku, price(leafIndex, leaf, doc));
+    }
+
+    private float price(final int leafIndex, final LeafReaderContext leaf, final int doc) throws IOException {
+        if (prices[leafIndex] == null) {
+            prices[leafIndex] = leaf.reader().getNumericDocValues("price");
+        }
+        return prices[leafIndex] == null ? Float.NaN : Float.intBitsToFloat((int) prices[leafIndex].get(doc));
+    }
+}
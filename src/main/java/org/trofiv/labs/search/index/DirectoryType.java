@@ -0,0 +1,60 @@
+package org.trofiv.labs.search.index;
+
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.store.IOContext;
+import org.apache.lucene.store.MMapDirectory;
+import org.apache.lucene.store.NIOFSDirectory;
+import org.apache.lucene.store.RAMDirectory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+public enum DirectoryType {
+    //whatever FSDirectory.open picks, mmap on 64-bit JVMs
+    DEFAULT {
+        @Override
+        Directory open(final Path path, final boolean preload) throws IOException {
+            final FSDirectory directory = FSDirectory.open(path);
+            if (directory instanceof MMapDirectory) {
+                ((MMapDirectory) directory).setPreload(preload);
+            }
+            return directory;
+        }
+    },
+    //preloading touches every page when a file is opened
+    MMAP {
+        @Override
+        Directory open(final Path path, final boolean preload) throws IOException {
+            final MMapDirectory directory = new MMapDirectory(path);
+            directory.setPreload(preload);
+            return directory;
+        }
+    },
+    NIOFS {
+        @Override
+        Directory open(final Path path, final boolean preload) throws IOException {
+            return new NIOFSDirectory(path);
+        }
+    },
+    //on-heap copy taken on open, read-only and blind to later commits
+    RAM {
+        @Override
+        Directory open(final Path path, final boolean preload) throws IOException {
+            try (FSDirectory source = FSDirectory.open(path)) {
+                return new RAMDirectory(source, IOContext.READONCE);
+            }
+        }
+
+        @Override
+        boolean isWritable() {
+            return false;
+        }
+    };
+
+    abstract Directory open(Path path, boolean preload) throws IOException;
+
+    boolean isWritable() {
+        return true;
+    }
+}
@@ -0,0 +1,53 @@
+package org.trofiv.labs.search.index;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.apache.lucene.index.LeafReader;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.search.SimpleCollector;
+
+import java.io.IOException;
+import java.util.Set;
+
+//writes matches as they are collected, nothing is buffered besides the generator
+class ExportCollector extends SimpleCollector {
+    private final JsonGenerator generator;
+    private final JsonFieldVisitor visitor;
+    private LeafReader reader;
+    private long exported;
+    private long fetchNanos;
+
+    ExportCollector(final JsonGenerator generator, final Set<String> fields) {
+        this.generator = generator;
+        this.visitor = new JsonFieldVisitor(generator, fields);
+    }
+
+    @Override
+    protected void doSetNextReader(final LeafReaderContext context) {
+        reader = context.reader();
+    }
+
+    @Override
+    public void collect(final int doc) throws IOException {
+        final long start = System.nanoTime();
+        generator.writeStartObject();
+        visitor.reset();
+        reader.document(doc, visitor);
+        generator.writeEndObject();
+        fetchNanos += System.nanoTime() - start;
+        exported++;
+    }
+
+    @Override
+    public boolean needsScores() {
+        return false;
+    }
+
+    long getExported() {
+        return exported;
+    }
+
+    //time spent loading and writing documents, the rest of the search is matching
+    long getFetchNanos() {
+        return fetchNanos;
+    }
+}
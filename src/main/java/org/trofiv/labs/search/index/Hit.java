@@ -0,0 +1,69 @@
+package org.trofiv.labs.search.index;
+
+import org.apache.lucene.document.Document;
+import org.apache.lucene.index.IndexReader;
+import org.trofiv.labs.search.metrics.QueryMetrics;
+import org.trofiv.labs.search.util.DocumentUtils;
+
+import java.io.IOException;
+import java.util.Set;
+
+public class Hit {
+    private final IndexReader reader;
+    private final Set<String> fields;
+    private final int doc;
+    private final float score;
+    private final QueryMetrics metrics;
+    private Document document;
+
+    public Hit(final IndexReader reader, final Set<String> fields, final int doc, final float score) {
+        this(reader, fields, doc, score, null);
+    }
+
+    Hit(final IndexReader reader, final Set<String> fields, final int doc, final float score,
+        final QueryMetrics metrics) {
+        this.reader = reader;
+        this.fields = fields;
+        this.doc = doc;
+        this.score = score;
+        this.metrics = metrics;
+    }
+
+    public int getDoc() {
+        return doc;
+    }
+
+    public float getScore() {
+        return score;
+    }
+
+    public boolean isLoaded() {
+        return document != null;
+    }
+
+    public Document getDocument() {
+        if (document == null) {
+            final long start = System.nanoTime();
+            final ProjectedFieldVisitor visitor = new ProjectedFieldVisitor(fields);
+            try {
+                Readers.document(reader, doc, visitor);
+            } catch (IOException e) {
+                throw new IllegalStateException("Can't extract document by id: " + doc, e);
+            }
+            document = visitor.getDocument();
+            if (metrics != null) {
+                metrics.recordFetch(System.nanoTime() - start, 1);
+            }
+        }
+        return document;
+    }
+
+    public String get(final String fieldName) {
+        return DocumentUtils.getFieldValue(getDocument(), fieldName);
+    }
+
+    @Override
+    public String toString() {
+        return "Hit{doc=" + doc + ", score=" + score + ", fields=" + fields + '}';
+    }
+}
@@ -1,32 +1,94 @@
 package org.trofiv.labs.search.index;
 
-import org.apache.lucene.analysis.standard.StandardAnalyzer;
 import org.apache.lucene.document.Document;
+import org.apache.lucene.index.DirectoryReader;
 import org.apache.lucene.index.IndexWriter;
 import org.apache.lucene.index.IndexWriterConfig;
 import org.apache.lucene.index.IndexWriterConfig.OpenMode;
+import org.apache.lucene.index.Term;
 import org.apache.lucene.store.Directory;
-import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.util.IOUtils;
+import org.trofiv.labs.search.document.DocumentModel;
+import org.trofiv.labs.search.document.NGramFields;
 
 import java.io.Closeable;
 import java.io.IOException;
 import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 
 public class IndexBuilder implements Closeable {
+    private static final String NGRAM_SUBFIELDS_KEY = "ngramSubfields";
     private final Directory directory;
     private final IndexWriter indexWriter;
+    private final boolean ngramSubfields;
 
     public IndexBuilder(final String indexLocation) throws IOException {
-        directory = FSDirectory.open(Paths.get(indexLocation));
-        final IndexWriterConfig iwc = new IndexWriterConfig(new StandardAnalyzer());
-        iwc.setOpenMode(OpenMode.CREATE);
+        this(indexLocation, IndexBuilderConfig.defaults());
+    }
+
+    public IndexBuilder(final String indexLocation, final IndexBuilderConfig config) throws IOException {
+        directory = config.openDirectory(Paths.get(indexLocation));
+        final boolean appending = config.getOpenMode() != OpenMode.CREATE && DirectoryReader.indexExists(directory);
+        final IndexWriterConfig iwc = config.toWriterConfig(new IndexWriterConfig(NGramFields.indexAnalyzer()));
         indexWriter = new IndexWriter(directory, iwc);
+        ngramSubfields = config.isNgramSubfields();
+        try {
+            //blocks without grams would merge into gram-indexed segments, where NGramWildcardQuery can't see them
+            if (appending && ngramSubfields != storedNgramSubfields()) {
+                throw new IllegalArgumentException("Index " + indexLocation + " was built with ngramSubfields="
+                        + storedNgramSubfields() + ", can't append with ngramSubfields=" + ngramSubfields);
+            }
+        } catch (RuntimeException e) {
+            IOUtils.closeWhileHandlingException(indexWriter, directory);
+            throw e;
+        }
+        indexWriter.setLiveCommitData(
+                Collections.singletonMap(NGRAM_SUBFIELDS_KEY, String.valueOf(ngramSubfields)).entrySet());
+    }
+
+    //indexes committed before the setting was recorded count as built without grams
+    private boolean storedNgramSubfields() {
+        for (final Map.Entry<String, String> entry : indexWriter.getLiveCommitData()) {
+            if (NGRAM_SUBFIELDS_KEY.equals(entry.getKey())) {
+                return Boolean.parseBoolean(entry.getValue());
+            }
+        }
+        return false;
+    }
+
+    IndexWriter getIndexWriter() {
+        return indexWriter;
     }
 
     public void addDocuments(final Iterable<Document> documents) throws IOException {
         indexWriter.addDocuments(documents);
     }
 
+    public int addProduct(final DocumentModel product) throws IOException {
+        final List<Document> block = product.toLuceneDocument(ngramSubfields);
+        indexWriter.addDocuments(block);
+        return block.size();
+    }
+
+    public void upsertProduct(final DocumentModel product) throws IOException {
+        //every document of a block carries the product id, so the old block goes away as a whole
+        indexWriter.updateDocuments(productTerm(product.getId()), product.toLuceneDocument(ngramSubfields));
+    }
+
+    public void deleteProduct(final String productId) throws IOException {
+        indexWriter.deleteDocuments(productTerm(productId));
+    }
+
+    public void commit() throws IOException {
+        indexWriter.commit();
+    }
+
+    private static Term productTerm(final String productId) {
+        return new Term(DocumentModel.PRODUCT_ID_FIELD, productId);
+    }
+
     @Override
     public void close() throws IOException {
         indexWriter.close();
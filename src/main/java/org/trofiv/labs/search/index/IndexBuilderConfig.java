@@ -0,0 +1,58 @@
+package org.trofiv.labs.search.index;
+
+import lombok.Builder;
+import lombok.Value;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.IndexWriterConfig.OpenMode;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.NRTCachingDirectory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+@Value
+@Builder
+public class IndexBuilderConfig {
+    @Builder.Default
+    OpenMode openMode = OpenMode.CREATE;
+    @Builder.Default
+    double ramBufferSizeMB = IndexWriterConfig.DEFAULT_RAM_BUFFER_SIZE_MB;
+    @Builder.Default
+    int ramPerThreadHardLimitMB = IndexWriterConfig.DEFAULT_RAM_PER_THREAD_HARD_LIMIT_MB;
+    //writes every segment sorted by Sorts.byBlockPrice(), which IndexSearcher.browseByPrice can stop early on
+    @Builder.Default
+    boolean sortByBlockPrice = false;
+    //products added through IndexBuilder also get the NGramFields subfields that NGramWildcardQuery looks up
+    @Builder.Default
+    boolean ngramSubfields = false;
+    @Builder.Default
+    DirectoryType directoryType = DirectoryType.DEFAULT;
+    //newly flushed segments up to this size stay on heap until merged or committed, 0 disables the cache
+    @Builder.Default
+    double nrtCachingMaxMergeSizeMB = 0;
+    @Builder.Default
+    double nrtCachingMaxCachedMB = 60;
+
+    public static IndexBuilderConfig defaults() {
+        return builder().build();
+    }
+
+    Directory openDirectory(final Path path) throws IOException {
+        if (!directoryType.isWritable()) {
+            throw new IllegalArgumentException("Can't write an index into a " + directoryType + " directory");
+        }
+        final Directory directory = directoryType.open(path, false);
+        return nrtCachingMaxMergeSizeMB > 0
+                ? new NRTCachingDirectory(directory, nrtCachingMaxMergeSizeMB, nrtCachingMaxCachedMB)
+                : directory;
+    }
+
+    IndexWriterConfig toWriterConfig(final IndexWriterConfig iwc) {
+        if (sortByBlockPrice) {
+            iwc.setIndexSort(Sorts.byBlockPrice());
+        }
+        return iwc.setOpenMode(openMode)
+                .setRAMBufferSizeMB(ramBufferSizeMB)
+                .setRAMPerThreadHardLimitMB(ramPerThreadHardLimitMB);
+    }
+}
@@ -1,71 +1,530 @@
 package org.trofiv.labs.search.index;
 
-import org.apache.commons.lang3.tuple.Pair;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import lombok.extern.log4j.Log4j2;
 import org.apache.lucene.document.Document;
 import org.apache.lucene.index.DirectoryReader;
 import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.search.FieldDoc;
 import org.apache.lucene.search.MatchAllDocsQuery;
 import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ReferenceManager;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherFactory;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.Sort;
 import org.apache.lucene.search.TopDocs;
 import org.apache.lucene.search.similarities.Similarity;
 import org.apache.lucene.store.Directory;
-import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.util.IOUtils;
+import org.trofiv.labs.search.facet.FacetCollector;
+import org.trofiv.labs.search.facet.FacetCounts;
+import org.trofiv.labs.search.metrics.QueryMetrics;
+import org.trofiv.labs.search.metrics.ReaderStats;
+import org.trofiv.labs.search.metrics.SearchMetrics;
+import org.trofiv.labs.search.profile.ProfilingIndexSearcher;
+import org.trofiv.labs.search.service.CatalogFormat;
 
+import java.io.Closeable;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToLongFunction;
 import java.util.stream.Collectors;
 
-public class IndexSearcher {
-    private final org.apache.lucene.search.IndexSearcher indexSearcher;
-    private final int size;
+@Log4j2
+public class IndexSearcher implements Closeable {
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private final Directory directory;
+    private final SearcherManager searcherManager;
+    private final ScheduledExecutorService refresher;
+    private final ExecutorService searchExecutor;
+    private final QueryResultCache queryCache;
+    private final SearchMetrics metrics;
+    private volatile Similarity similarity;
 
     public IndexSearcher(final String indexLocation) throws IOException {
-        final Directory dir = FSDirectory.open(Paths.get(indexLocation));
-        final IndexReader indexReader = DirectoryReader.open(dir);
-        indexSearcher = new org.apache.lucene.search.IndexSearcher(indexReader);
-        size = indexSearcher.count(new MatchAllDocsQuery());
+        this(indexLocation, IndexSearcherConfig.defaults());
     }
 
-    public List<Document> search(final Query query) {
-        final TopDocs topDocs;
+    public IndexSearcher(final String indexLocation, final IndexSearcherConfig config) throws IOException {
+        //registration is the first thing that can fail, so nothing is running yet when it does
+        metrics = startMetrics(config);
+        Directory openedDirectory = null;
+        ExecutorService executor = null;
+        try {
+            openedDirectory = config.openDirectory(Paths.get(indexLocation));
+            executor = startSearchExecutor(config);
+            searcherManager = new SearcherManager(openedDirectory, new ConfiguredSearcherFactory(config, executor));
+        } catch (IOException | RuntimeException e) {
+            abortStart(executor, openedDirectory);
+            throw e;
+        }
+        directory = openedDirectory;
+        searchExecutor = executor;
+        queryCache = startQueryCache(config);
+        refresher = startRefresher(config);
+    }
+
+    public IndexSearcher(final IndexBuilder indexBuilder, final IndexSearcherConfig config) throws IOException {
+        //near-real-time mode: readers come straight from the writer, the directory stays owned by the builder
+        directory = null;
+        metrics = startMetrics(config);
+        ExecutorService executor = null;
+        try {
+            executor = startSearchExecutor(config);
+            searcherManager = new SearcherManager(indexBuilder.getIndexWriter(),
+                    config.isApplyAllDeletes(), false, new ConfiguredSearcherFactory(config, executor));
+        } catch (IOException | RuntimeException e) {
+            abortStart(executor, null);
+            throw e;
+        }
+        searchExecutor = executor;
+        queryCache = startQueryCache(config);
+        refresher = startRefresher(config);
+    }
+
+    public org.apache.lucene.search.IndexSearcher acquire() {
         try {
-            topDocs = indexSearcher.search(query, size);
+            return searcherManager.acquire();
         } catch (IOException e) {
-            throw new IllegalStateException("Can't perform index search!", e);
+            throw new IllegalStateException("Can't acquire index searcher!", e);
         }
-        return Arrays.stream(topDocs.scoreDocs).map(i -> {
+    }
+
+    public void release(final org.apache.lucene.search.IndexSearcher searcher) {
+        try {
+            searcherManager.release(searcher);
+        } catch (IOException e) {
+            throw new IllegalStateException("Can't release index searcher!", e);
+        }
+    }
+
+    public void refresh() {
+        try {
+            searcherManager.maybeRefreshBlocking();
+        } catch (IOException e) {
+            throw new IllegalStateException("Can't refresh index searcher!", e);
+        }
+    }
+
+    public List<Document> search(final Query query) {
+        return withSearcher(searcher ->
+                toDocuments(searcher, query, topDocs(searcher, query, null, null, maxDoc(searcher))));
+    }
+
+    public SearchPage search(final Query query, final int n) {
+        return searchAfter(query, null, n);
+    }
+
+    public SearchPage searchAfter(final Query query, final ScoreDoc after, final int n) {
+        return searchAfter(query, null, after, n);
+    }
+
+    public SearchPage search(final Query query, final Sort sort, final int n) {
+        return searchAfter(query, sort, null, n);
+    }
+
+    public SearchPage searchAfter(final Query query, final Sort sort, final ScoreDoc after, final int n) {
+        checkPageSize(n);
+        return withSearcher(searcher -> {
+            final TopDocs topDocs = topDocs(searcher, query, sort, after, n);
+            final ScoreDoc[] scoreDocs = topDocs.scoreDocs;
+            final ScoreDoc cursor = scoreDocs.length < n ? null : scoreDocs[scoreDocs.length - 1];
+            return new SearchPage(toDocuments(searcher, query, topDocs), cursor, topDocs.totalHits);
+        });
+    }
+
+    //results match search(query, n), the result cache and the search metrics are bypassed
+    public ProfiledSearch profile(final Query query, final int n) {
+        checkPageSize(n);
+        return withSearcher(searcher -> {
+            final ProfilingIndexSearcher profiler = new ProfilingIndexSearcher(searcher.getIndexReader());
+            profiler.setSimilarity(searcher.getSimilarity(true));
+            final long start = System.nanoTime();
+            final TopDocs topDocs = profiler.search(query, n);
+            final long totalNanos = System.nanoTime() - start;
+            final ScoreDoc[] scoreDocs = topDocs.scoreDocs;
+            final ScoreDoc cursor = scoreDocs.length < n ? null : scoreDocs[scoreDocs.length - 1];
+            final SearchPage page = new SearchPage(loadDocuments(searcher, topDocs), cursor, topDocs.totalHits);
+            return new ProfiledSearch(page, profiler.getProfiles().get(0), profiler.getRewriteNanos(), totalNanos);
+        });
+    }
+
+    //segments sorted by block price are left once the page is full, totalHits is a lower bound
+    public SearchPage browseByPrice(final Query query, final int n) {
+        return browseByPriceAfter(query, null, n);
+    }
+
+    public SearchPage browseByPriceAfter(final Query query, final ScoreDoc after, final int n) {
+        checkPageSize(n);
+        if (after != null && !(after instanceof FieldDoc)) {
+            throw new IllegalArgumentException("Cursor must come from a price ordered page: " + after);
+        }
+        return withSearcher(searcher -> {
+            final TopDocs topDocs = measured(query, () -> PriceBrowser.topDocs(searcher, query, (FieldDoc) after, n),
+                    result -> result.totalHits);
+            final ScoreDoc[] scoreDocs = topDocs.scoreDocs;
+            final ScoreDoc cursor = scoreDocs.length < n ? null : scoreDocs[scoreDocs.length - 1];
+            return new SearchPage(toDocuments(searcher, query, topDocs), cursor, topDocs.totalHits);
+        });
+    }
+
+    public List<Hit> fetch(final Query query, final int n, final Set<String> fields) {
+        checkPageSize(n);
+        return withSearcher(searcher -> {
+            final IndexReader reader = searcher.getIndexReader();
+            final QueryMetrics queryMetrics = metrics.forQuery(query);
+            return Arrays.stream(topDocs(searcher, query, null, null, n).scoreDocs)
+                    .map(i -> new Hit(reader, fields, i.doc, i.score, queryMetrics))
+                    .collect(Collectors.toList());
+        });
+    }
+
+    public List<BlockHit> blockSearch(final Query query, final int n) {
+        checkPageSize(n);
+        return withSearcher(searcher -> {
+            final BlockHitResolver resolver = new BlockHitResolver(searcher.getIndexReader(), metrics.forQuery(query));
+            final ScoreDoc[] scoreDocs = topDocs(searcher, query, null, null, n).scoreDocs;
+            final List<BlockHit> hits = new ArrayList<>(scoreDocs.length);
+            for (final ScoreDoc scoreDoc : scoreDocs) {
+                hits.add(resolver.resolve(scoreDoc));
+            }
+            return hits;
+        });
+    }
+
+    //same seed over the same reader gives the same sample, in doc id order
+    public Sample sample(final Query filter, final int k, final long seed, final Set<String> fields) {
+        checkPageSize(k);
+        return withSearcher(searcher -> {
+            final IndexReader reader = searcher.getIndexReader();
+            final SampleCollector collector = new SampleCollector(Math.min(k, maxDoc(searcher)), seed);
+            measured(filter, () -> {
+                if (searcher.rewrite(filter) instanceof MatchAllDocsQuery) {
+                    reader.leaves().forEach(collector::collectAll);
+                } else {
+                    searcher.search(filter, collector);
+                }
+                return collector;
+            }, SampleCollector::getTotalHits);
+            final QueryMetrics queryMetrics = metrics.forQuery(filter);
+            final List<Hit> hits = Arrays.stream(collector.getDocs())
+                    .mapToObj(doc -> new Hit(reader, fields, doc, 1, queryMetrics))
+                    .collect(Collectors.toList());
+            return new Sample(hits, collector.getTotalHits());
+        });
+    }
+
+    //all matches come from one point-in-time reader, the stream is flushed but left open
+    public long export(final Query query,
+                       final Set<String> fields,
+                       final OutputStream outputStream,
+                       final CatalogFormat format) {
+        return withSearcher(searcher -> {
+            try (JsonGenerator generator = JSON_FACTORY.createGenerator(outputStream)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                if (format == CatalogFormat.JSON_ARRAY) {
+                    generator.writeStartArray();
+                } else {
+                    generator.setRootValueSeparator(new SerializedString("\n"));
+                }
+                final ExportCollector collector = new ExportCollector(generator, fields);
+                final long start = System.nanoTime();
+                searcher.search(query, collector);
+                final long elapsed = System.nanoTime() - start;
+                final long exported = collector.getExported();
+                final QueryMetrics queryMetrics = metrics.forQuery(query);
+                queryMetrics.recordSearch(elapsed - collector.getFetchNanos(), exported);
+                queryMetrics.recordFetch(collector.getFetchNanos(), Math.toIntExact(exported));
+                if (format == CatalogFormat.JSON_ARRAY) {
+                    generator.writeEndArray();
+                } else if (exported > 0) {
+                    generator.writeRaw('\n');
+                }
+                return exported;
+            }
+        });
+    }
+
+    public Document document(final int doc, final Set<String> fields) {
+        return withSearcher(searcher -> {
+            final ProjectedFieldVisitor visitor = new ProjectedFieldVisitor(fields);
             try {
-                return indexSearcher.doc(i.doc);
+                searcher.doc(doc, visitor);
             } catch (IOException e) {
-                throw new IllegalStateException("Can't extract document by id: " + i.doc, e);
+                throw new IllegalStateException("Can't extract document by id: " + doc, e);
             }
-        }).collect(Collectors.toList());
+            return visitor.getDocument();
+        });
+    }
+
+    public int count(final Query query) {
+        return withSearcher(searcher -> measured(query, () -> searcher.count(query), Integer::longValue));
+    }
+
+    public ScoredHits scoredSearch(final Query query) {
+        return withSearcher(searcher -> {
+            final ScoredHitsCollector collector = new ScoredHitsCollector();
+            return measured(query, () -> {
+                searcher.search(query, collector);
+                return collector.toScoredHits(searcher.getIndexReader());
+            }, ScoredHits::size);
+        });
+    }
+
+    public ScoredHits scoredSearch(final Query query, final int n) {
+        checkPageSize(n);
+        return withSearcher(searcher ->
+                ScoredHits.of(searcher.getIndexReader(), topDocs(searcher, query, null, null, n)));
+    }
+
+    public FacetCounts facets(final Query productQuery) {
+        return withSearcher(searcher -> {
+            final FacetCollector collector = new FacetCollector(BlockFilters.PRODUCTS, BlockFilters.SKUS);
+            return measured(productQuery, () -> {
+                searcher.search(productQuery, collector);
+                return collector.getFacetCounts();
+            }, FacetCounts::getProducts);
+        });
     }
 
-    public Map<Document, Float> scoredSearch(final Query query) {
-        final TopDocs topDocs;
+    public SearchMetrics getMetrics() {
+        return metrics;
+    }
+
+    public QueryCacheStats getQueryCacheStats() {
+        return queryCache.stats();
+    }
+
+    public Similarity getSimilarity(final boolean scoresRequired) {
+        return withSearcher(searcher -> searcher.getSimilarity(scoresRequired));
+    }
+
+    public void setSimilarity(final Similarity similarity) {
+        this.similarity = similarity;
+        withSearcher(searcher -> {
+            searcher.setSimilarity(similarity);
+            return null;
+        });
+        //entries of the old similarity can never be hit again
+        queryCache.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        metrics.unregister();
+        if (refresher != null) {
+            refresher.shutdownNow();
+        }
+        searcherManager.close();
+        if (searchExecutor != null) {
+            searchExecutor.shutdown();
+        }
+        if (directory != null) {
+            directory.close();
+        }
+    }
+
+    private void abortStart(final ExecutorService executor, final Directory openedDirectory) {
+        metrics.unregister();
+        if (executor != null) {
+            executor.shutdown();
+        }
+        IOUtils.closeWhileHandlingException(openedDirectory);
+    }
+
+    private <T> T withSearcher(final SearcherFunction<T> function) {
+        final org.apache.lucene.search.IndexSearcher searcher = acquire();
         try {
-            topDocs = indexSearcher.search(query, size);
+            return function.apply(searcher);
         } catch (IOException e) {
             throw new IllegalStateException("Can't perform index search!", e);
+        } finally {
+            release(searcher);
+        }
+    }
+
+    private <T> T measured(final Query query,
+                           final SearchCall<T> call,
+                           final ToLongFunction<T> hits) throws IOException {
+        final long start = System.nanoTime();
+        final T result = call.call();
+        metrics.forQuery(query).recordSearch(System.nanoTime() - start, hits.applyAsLong(result));
+        return result;
+    }
+
+    private SearchMetrics startMetrics(final IndexSearcherConfig config) {
+        final SearchMetrics searchMetrics = new SearchMetrics(() -> withSearcher(
+                searcher -> ReaderStats.of(searcher.getIndexReader())));
+        if (config.getJmxName() != null) {
+            searchMetrics.register(config.getJmxName());
+        }
+        return searchMetrics;
+    }
+
+    private ScheduledExecutorService startRefresher(final IndexSearcherConfig config) {
+        final long maxStalenessMs = config.getMaxStalenessMs();
+        if (maxStalenessMs <= 0) {
+            return null;
+        }
+        final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "index-searcher-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(() -> {
+            try {
+                searcherManager.maybeRefresh();
+            } catch (Exception e) {
+                log.error("Can't refresh index searcher", e);
+            }
+        }, maxStalenessMs, maxStalenessMs, TimeUnit.MILLISECONDS);
+        return executor;
+    }
+
+    private QueryResultCache startQueryCache(final IndexSearcherConfig config) {
+        final QueryResultCache cache = new QueryResultCache(
+                config.getQueryCacheMaxEntries(), config.getQueryCacheMaxRamBytes());
+        if (cache.isEnabled()) {
+            //entries of an older reader can never be hit again once a new one is published
+            searcherManager.addListener(new ReferenceManager.RefreshListener() {
+                @Override
+                public void beforeRefresh() {
+                }
+
+                @Override
+                public void afterRefresh(final boolean didRefresh) {
+                    if (didRefresh) {
+                        cache.clear();
+                    }
+                }
+            });
+        }
+        return cache;
+    }
+
+    private static ExecutorService startSearchExecutor(final IndexSearcherConfig config) {
+        final int threads = config.getSearchThreads();
+        if (threads <= 0) {
+            return null;
+        }
+        final AtomicInteger counter = new AtomicInteger();
+        //a saturated pool makes the querying thread search the slice itself instead of failing
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(config.getSearchQueueCapacity()),
+                runnable -> {
+                    final Thread thread = new Thread(runnable, "index-searcher-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    private static void checkPageSize(final int n) {
+        if (n <= 0) {
+            throw new IllegalArgumentException("Page size must be positive: " + n);
         }
+    }
+
+    private static int maxDoc(final org.apache.lucene.search.IndexSearcher searcher) {
+        return Math.max(1, searcher.getIndexReader().maxDoc());
+    }
+
+    private TopDocs topDocs(final org.apache.lucene.search.IndexSearcher searcher,
+                            final Query query,
+                            final Sort sort,
+                            final ScoreDoc after,
+                            final int n) throws IOException {
+        if (!queryCache.isEnabled()) {
+            return measured(query, () -> uncachedTopDocs(searcher, query, sort, after, n), result -> result.totalHits);
+        }
+        final long readerVersion = ((DirectoryReader) searcher.getIndexReader()).getVersion();
+        final QueryResultCache.Key key = QueryResultCache.Key.of(query, sort, searcher.getSimilarity(true),
+                readerVersion, after, n);
+        final TopDocs cached = queryCache.get(key);
+        if (cached != null) {
+            metrics.forQuery(query).recordCacheHit();
+            return cached;
+        }
+        final TopDocs topDocs = measured(query, () -> uncachedTopDocs(searcher, query, sort, after, n),
+                result -> result.totalHits);
+        queryCache.put(key, topDocs);
+        return topDocs;
+    }
+
+    private static TopDocs uncachedTopDocs(final org.apache.lucene.search.IndexSearcher searcher,
+                                           final Query query,
+                                           final Sort sort,
+                                           final ScoreDoc after,
+                                           final int n) throws IOException {
+        return sort == null ? searcher.searchAfter(after, query, n) : searcher.searchAfter(after, query, n, sort);
+    }
+
+    private List<Document> toDocuments(final org.apache.lucene.search.IndexSearcher searcher,
+                                       final Query query,
+                                       final TopDocs topDocs) {
+        final long start = System.nanoTime();
+        final List<Document> documents = loadDocuments(searcher, topDocs);
+        metrics.forQuery(query).recordFetch(System.nanoTime() - start, documents.size());
+        return documents;
+    }
+
+    private static List<Document> loadDocuments(final org.apache.lucene.search.IndexSearcher searcher,
+                                                final TopDocs topDocs) {
         return Arrays.stream(topDocs.scoreDocs).map(i -> {
             try {
-                return Pair.of(indexSearcher.doc(i.doc), i.score);
+                return searcher.doc(i.doc);
             } catch (IOException e) {
                 throw new IllegalStateException("Can't extract document by id: " + i.doc, e);
             }
-        }).collect(Collectors.toMap(Pair::getKey, Pair::getValue));
+        }).collect(Collectors.toList());
     }
 
-    public Similarity getSimilarity(final boolean scoresRequired) {
-        return indexSearcher.getSimilarity(scoresRequired);
+    @FunctionalInterface
+    private interface SearcherFunction<T> {
+        T apply(org.apache.lucene.search.IndexSearcher searcher) throws IOException;
     }
 
-    public void setSimilarity(final Similarity similarity) {
-        indexSearcher.setSimilarity(similarity);
+    @FunctionalInterface
+    private interface SearchCall<T> {
+        T call() throws IOException;
+    }
+
+    private class ConfiguredSearcherFactory extends SearcherFactory {
+        private final IndexSearcherConfig config;
+        //passed in, the first searcher is created before the searchExecutor field is assigned
+        private final ExecutorService searchExecutor;
+
+        private ConfiguredSearcherFactory(final IndexSearcherConfig config, final ExecutorService searchExecutor) {
+            this.config = config;
+            this.searchExecutor = searchExecutor;
+        }
+
+        @Override
+        public org.apache.lucene.search.IndexSearcher newSearcher(
+                final IndexReader reader, final IndexReader previousReader) {
+            final org.apache.lucene.search.IndexSearcher searcher = searchExecutor == null
+                    ? new org.apache.lucene.search.IndexSearcher(reader)
+                    : SlicedIndexSearcher.create(reader, searchExecutor, config);
+            final Similarity configured = similarity;
+            if (configured != null) {
+                searcher.setSimilarity(configured);
+            }
+            return searcher;
+        }
     }
 }
@@ -0,0 +1,48 @@
+package org.trofiv.labs.search.index;
+
+import lombok.Builder;
+import lombok.Value;
+import org.apache.lucene.store.Directory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+@Value
+@Builder
+public class IndexSearcherConfig {
+    //upper bound on how long a change may stay invisible to searches, 0 disables background refresh
+    @Builder.Default
+    long maxStalenessMs = 0;
+    @Builder.Default
+    boolean applyAllDeletes = true;
+    //0 runs every query on the calling thread, otherwise leaf slices are searched on a pool of this size
+    @Builder.Default
+    int searchThreads = 0;
+    @Builder.Default
+    int searchQueueCapacity = 1024;
+    @Builder.Default
+    int maxDocsPerSlice = 250_000;
+    @Builder.Default
+    int maxSegmentsPerSlice = 5;
+    //0 disables caching of paged results
+    @Builder.Default
+    int queryCacheMaxEntries = 0;
+    @Builder.Default
+    long queryCacheMaxRamBytes = 64L * 1024 * 1024;
+    @Builder.Default
+    DirectoryType directoryType = DirectoryType.DEFAULT;
+    //only applies to memory mapped directories
+    @Builder.Default
+    boolean preload = false;
+    //registers the search metrics as an MXBean under this name, null keeps them off JMX
+    @Builder.Default
+    String jmxName = null;
+
+    public static IndexSearcherConfig defaults() {
+        return builder().build();
+    }
+
+    Directory openDirectory(final Path path) throws IOException {
+        return directoryType.open(path, preload);
+    }
+}
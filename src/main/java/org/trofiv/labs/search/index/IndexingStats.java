@@ -0,0 +1,22 @@
+package org.trofiv.labs.search.index;
+
+import lombok.Value;
+
+import java.util.concurrent.TimeUnit;
+
+@Value
+public class IndexingStats {
+    long products;
+    long documents;
+    long elapsedNanos;
+
+    public double docsPerSecond() {
+        return elapsedNanos == 0 ? 0 : documents * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d products, %d documents in %d ms (%.1f docs/sec)",
+                products, documents, TimeUnit.NANOSECONDS.toMillis(elapsedNanos), docsPerSecond());
+    }
+}
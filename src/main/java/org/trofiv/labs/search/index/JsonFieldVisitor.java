@@ -0,0 +1,70 @@
+package org.trofiv.labs.search.index;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.apache.lucene.index.FieldInfo;
+import org.apache.lucene.index.StoredFieldVisitor;
+
+import java.io.IOException;
+import java.util.Set;
+
+//writes stored fields straight into the generator without building a Document
+class JsonFieldVisitor extends StoredFieldVisitor {
+    private final JsonGenerator generator;
+    private final Set<String> fields;
+    private int visited;
+
+    //every stored field is written when fields is empty
+    JsonFieldVisitor(final JsonGenerator generator, final Set<String> fields) {
+        this.generator = generator;
+        this.fields = fields;
+    }
+
+    void reset() {
+        visited = 0;
+    }
+
+    @Override
+    public Status needsField(final FieldInfo fieldInfo) {
+        if (fields.isEmpty()) {
+            return Status.YES;
+        }
+        if (fields.contains(fieldInfo.name)) {
+            visited++;
+            return Status.YES;
+        }
+        //fields are single-valued, so nothing left to read once every wanted one was seen
+        return visited == fields.size() ? Status.STOP : Status.NO;
+    }
+
+    @Override
+    public void stringField(final FieldInfo fieldInfo, final byte[] value) throws IOException {
+        generator.writeFieldName(fieldInfo.name);
+        generator.writeUTF8String(value, 0, value.length);
+    }
+
+    @Override
+    public void binaryField(final FieldInfo fieldInfo, final byte[] value) throws IOException {
+        generator.writeFieldName(fieldInfo.name);
+        generator.writeBinary(value);
+    }
+
+    @Override
+    public void intField(final FieldInfo fieldInfo, final int value) throws IOException {
+        generator.writeNumberField(fieldInfo.name, value);
+    }
+
+    @Override
+    public void longField(final FieldInfo fieldInfo, final long value) throws IOException {
+        generator.writeNumberField(fieldInfo.name, value);
+    }
+
+    @Override
+    public void floatField(final FieldInfo fieldInfo, final float value) throws IOException {
+        generator.writeNumberField(fieldInfo.name, value);
+    }
+
+    @Override
+    public void doubleField(final FieldInfo fieldInfo, final double value) throws IOException {
+        generator.writeNumberField(fieldInfo.name, value);
+    }
+}
@@ -0,0 +1,99 @@
+package org.trofiv.labs.search.index;
+
+import org.trofiv.labs.search.document.DocumentModel;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class ParallelIndexer {
+    private static final DocumentModel POISON_PILL =
+            new DocumentModel(null, null, null, null, null, Collections.emptySet());
+    private static final long OFFER_TIMEOUT_MS = 100;
+    private final IndexBuilder indexBuilder;
+    private final int workers;
+    private final int queueCapacity;
+
+    public ParallelIndexer(final IndexBuilder indexBuilder, final int workers, final int queueCapacity) {
+        if (workers <= 0) {
+            throw new IllegalArgumentException("Workers count must be positive: " + workers);
+        }
+        if (queueCapacity <= 0) {
+            throw new IllegalArgumentException("Queue capacity must be positive: " + queueCapacity);
+        }
+        this.indexBuilder = indexBuilder;
+        this.workers = workers;
+        this.queueCapacity = queueCapacity;
+    }
+
+    public IndexingStats index(final Iterator<DocumentModel> models) {
+        final BlockingQueue<DocumentModel> queue = new ArrayBlockingQueue<>(queueCapacity);
+        final AtomicLong products = new AtomicLong();
+        final AtomicLong documents = new AtomicLong();
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        final ExecutorService executor = Executors.newFixedThreadPool(workers);
+        final long start = System.nanoTime();
+        try {
+            for (int i = 0; i < workers; i++) {
+                executor.execute(() -> consume(queue, products, documents, failure));
+            }
+            while (models.hasNext() && failure.get() == null) {
+                put(queue, models.next(), failure);
+            }
+            for (int i = 0; i < workers; i++) {
+                put(queue, POISON_PILL, failure);
+            }
+            executor.shutdown();
+            while (!executor.awaitTermination(OFFER_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                if (failure.get() != null) {
+                    executor.shutdownNow();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Indexing was interrupted!", e);
+        } finally {
+            executor.shutdownNow();
+        }
+        if (failure.get() != null) {
+            throw new IllegalStateException("Can't index documents!", failure.get());
+        }
+        return new IndexingStats(products.get(), documents.get(), System.nanoTime() - start);
+    }
+
+    private static void put(final BlockingQueue<DocumentModel> queue,
+                            final DocumentModel model,
+                            final AtomicReference<Throwable> failure) throws InterruptedException {
+        //workers may all be dead after a failure, so never block on a full queue forever
+        while (failure.get() == null) {
+            if (queue.offer(model, OFFER_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        }
+    }
+
+    private void consume(final BlockingQueue<DocumentModel> queue,
+                         final AtomicLong products,
+                         final AtomicLong documents,
+                         final AtomicReference<Throwable> failure) {
+        try {
+            DocumentModel model;
+            while ((model = queue.take()) != POISON_PILL && failure.get() == null) {
+                //the whole block goes through one addDocuments() call to stay contiguous
+                final int blockSize = indexBuilder.addProduct(model);
+                products.incrementAndGet();
+                documents.addAndGet(blockSize);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            failure.compareAndSet(null, e);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package org.trofiv.labs.search.index;
+
+import org.apache.lucene.index.DocValues;
+import org.apache.lucene.index.LeafReader;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.NumericDocValues;
+import org.apache.lucene.search.BulkScorer;
+import org.apache.lucene.search.CollectionTerminatedException;
+import org.apache.lucene.search.FieldDoc;
+import org.apache.lucene.search.FilterLeafCollector;
+import org.apache.lucene.search.LeafCollector;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.TopFieldCollector;
+import org.apache.lucene.search.Weight;
+import org.apache.lucene.util.Bits;
+import org.trofiv.labs.search.document.DocumentModel;
+
+import java.io.IOException;
+
+//hits after the cursor are a contiguous doc range of a sorted segment
+enum PriceBrowser {
+    ;
+
+    static TopDocs topDocs(final org.apache.lucene.search.IndexSearcher searcher,
+                           final Query query,
+                           final FieldDoc after,
+                           final int n) throws IOException {
+        final Sort sort = Sorts.byBlockPrice();
+        final Weight weight = searcher.createNormalizedWeight(query, false);
+        final TopFieldCollector collector = TopFieldCollector.create(sort, n, after, true, false, false);
+        for (final LeafReaderContext leaf : searcher.getIndexReader().leaves()) {
+            final BulkScorer scorer = weight.bulkScorer(leaf);
+            if (scorer == null) {
+                continue;
+            }
+            final LeafReader reader = leaf.reader();
+            final LeafCollector leafCollector = collector.getLeafCollector(leaf);
+            if (!sort.equals(reader.getIndexSort())) {
+                scorer.score(leafCollector, reader.getLiveDocs());
+                continue;
+            }
+            final int min = after == null ? 0 : firstAfter(leaf, after);
+            try {
+                scorer.score(new LimitingLeafCollector(leafCollector, n), reader.getLiveDocs(), min, reader.maxDoc());
+            } catch (CollectionTerminatedException e) {
+                //page is full, the rest of the segment sorts after it
+            }
+        }
+        return collector.topDocs();
+    }
+
+    //first doc sorting after the cursor, by price and then by global doc id
+    private static int firstAfter(final LeafReaderContext leaf, final FieldDoc after) throws IOException {
+        final LeafReader reader = leaf.reader();
+        final NumericDocValues prices = DocValues.getNumeric(reader, DocumentModel.BLOCK_PRICE_FIELD);
+        final Bits hasPrice = DocValues.getDocsWithField(reader, DocumentModel.BLOCK_PRICE_FIELD);
+        final float afterPrice = (Float) after.fields[0];
+        int low = 0;
+        int high = reader.maxDoc();
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            final float price = hasPrice.get(middle)
+                    ? Float.intBitsToFloat((int) prices.get(middle))
+                    : Float.POSITIVE_INFINITY;
+            final int cmp = Float.compare(price, afterPrice);
+            if (cmp > 0 || cmp == 0 && leaf.docBase + middle > after.doc) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+        return low;
+    }
+
+    private static final class LimitingLeafCollector extends FilterLeafCollector {
+        private int remaining;
+
+        private LimitingLeafCollector(final LeafCollector in, final int limit) {
+            super(in);
+            this.remaining = limit;
+        }
+
+        @Override
+        public void collect(final int doc) throws IOException {
+            super.collect(doc);
+            if (--remaining == 0) {
+                throw new CollectionTerminatedException();
+            }
+        }
+    }
+}
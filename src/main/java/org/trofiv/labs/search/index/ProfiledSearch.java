@@ -0,0 +1,12 @@
+package org.trofiv.labs.search.index;
+
+import lombok.Value;
+import org.trofiv.labs.search.profile.QueryProfile;
+
+@Value
+public class ProfiledSearch {
+    SearchPage page;
+    QueryProfile profile;
+    long rewriteNanos;
+    long totalNanos;
+}
@@ -0,0 +1,28 @@
+package org.trofiv.labs.search.index;
+
+import org.apache.lucene.document.DocumentStoredFieldVisitor;
+import org.apache.lucene.index.FieldInfo;
+
+import java.util.HashSet;
+import java.util.Set;
+
+public class ProjectedFieldVisitor extends DocumentStoredFieldVisitor {
+    private final Set<String> fields;
+    private final Set<String> visited;
+
+    public ProjectedFieldVisitor(final Set<String> fields) {
+        super(fields);
+        this.fields = fields;
+        this.visited = new HashSet<>(fields.size());
+    }
+
+    @Override
+    public Status needsField(final FieldInfo fieldInfo) {
+        if (fields.contains(fieldInfo.name)) {
+            visited.add(fieldInfo.name);
+            return Status.YES;
+        }
+        //fields are single-valued, so nothing left to read once every wanted one was seen
+        return visited.size() == fields.size() ? Status.STOP : Status.NO;
+    }
+}
@@ -0,0 +1,17 @@
+package org.trofiv.labs.search.index;
+
+import lombok.Value;
+
+@Value
+public class QueryCacheStats {
+    long hits;
+    long misses;
+    long evictions;
+    int entries;
+    long ramBytesUsed;
+
+    public double hitRate() {
+        final long total = hits + misses;
+        return total == 0 ? 0 : (double) hits / total;
+    }
+}
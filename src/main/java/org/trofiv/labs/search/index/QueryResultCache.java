@@ -0,0 +1,106 @@
+package org.trofiv.labs.search.index;
+
+import lombok.Value;
+import org.apache.lucene.search.FieldDoc;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.similarities.Similarity;
+import org.apache.lucene.util.RamUsageEstimator;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class QueryResultCache {
+    //same flat estimates Lucene's LRUQueryCache uses for keys it can't measure
+    private static final long QUERY_RAM_BYTES = 1024;
+    private static final long ENTRY_RAM_BYTES = 2 * RamUsageEstimator.NUM_BYTES_OBJECT_HEADER
+            + 6 * RamUsageEstimator.NUM_BYTES_OBJECT_REF + Long.BYTES + 2 * Integer.BYTES + Float.BYTES;
+    private static final long SCORE_DOC_RAM_BYTES = RamUsageEstimator.shallowSizeOfInstance(ScoreDoc.class)
+            + RamUsageEstimator.NUM_BYTES_OBJECT_REF;
+    private final int maxEntries;
+    private final long maxRamBytes;
+    private final Map<Key, TopDocs> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long ramBytesUsed;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    public QueryResultCache(final int maxEntries, final long maxRamBytes) {
+        this.maxEntries = maxEntries;
+        this.maxRamBytes = maxRamBytes;
+    }
+
+    public boolean isEnabled() {
+        return maxEntries > 0 && maxRamBytes > 0;
+    }
+
+    public synchronized TopDocs get(final Key key) {
+        final TopDocs topDocs = entries.get(key);
+        if (topDocs == null) {
+            misses++;
+        } else {
+            hits++;
+        }
+        return topDocs;
+    }
+
+    public synchronized void put(final Key key, final TopDocs topDocs) {
+        final long entryRamBytes = ramBytesUsed(topDocs);
+        if (entryRamBytes > maxRamBytes) {
+            return;
+        }
+        final TopDocs previous = entries.put(key, topDocs);
+        if (previous != null) {
+            ramBytesUsed -= ramBytesUsed(previous);
+        }
+        ramBytesUsed += entryRamBytes;
+        final Iterator<TopDocs> eldest = entries.values().iterator();
+        while (entries.size() > maxEntries || ramBytesUsed > maxRamBytes) {
+            ramBytesUsed -= ramBytesUsed(eldest.next());
+            eldest.remove();
+            evictions++;
+        }
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        ramBytesUsed = 0;
+    }
+
+    public synchronized QueryCacheStats stats() {
+        return new QueryCacheStats(hits, misses, evictions, entries.size(), ramBytesUsed);
+    }
+
+    private static long ramBytesUsed(final TopDocs topDocs) {
+        return QUERY_RAM_BYTES + ENTRY_RAM_BYTES + topDocs.scoreDocs.length * SCORE_DOC_RAM_BYTES;
+    }
+
+    @Value
+    public static class Key {
+        Query query;
+        Sort sort;
+        //compared by identity, so a setSimilarity() racing a search can't leave a hit scored the old way
+        Similarity similarity;
+        long readerVersion;
+        int afterDoc;
+        float afterScore;
+        Object[] afterFields;
+        int n;
+
+        public static Key of(final Query query,
+                             final Sort sort,
+                             final Similarity similarity,
+                             final long readerVersion,
+                             final ScoreDoc after,
+                             final int n) {
+            if (after == null) {
+                return new Key(query, sort, similarity, readerVersion, -1, Float.NaN, null, n);
+            }
+            final Object[] afterFields = after instanceof FieldDoc ? ((FieldDoc) after).fields : null;
+            return new Key(query, sort, similarity, readerVersion, after.doc, after.score, afterFields, n);
+        }
+    }
+}
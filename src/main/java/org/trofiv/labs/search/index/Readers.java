@@ -0,0 +1,23 @@
+package org.trofiv.labs.search.index;
+
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.StoredFieldVisitor;
+
+import java.io.IOException;
+
+enum Readers {
+    ;
+
+    static void document(final IndexReader reader, final int doc, final StoredFieldVisitor visitor)
+            throws IOException {
+        //results may outlive the searcher they came from once a refresh has swapped it out
+        if (!reader.tryIncRef()) {
+            throw new IllegalStateException("Reader of document " + doc + " was closed by a refresh, search again");
+        }
+        try {
+            reader.document(doc, visitor);
+        } finally {
+            reader.decRef();
+        }
+    }
+}
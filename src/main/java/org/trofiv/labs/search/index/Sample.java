@@ -0,0 +1,11 @@
+package org.trofiv.labs.search.index;
+
+import lombok.Value;
+
+import java.util.List;
+
+@Value
+public class Sample {
+    List<Hit> hits;
+    long totalHits;
+}
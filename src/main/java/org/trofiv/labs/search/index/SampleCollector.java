@@ -0,0 +1,107 @@
+package org.trofiv.labs.search.index;
+
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.search.SimpleCollector;
+import org.apache.lucene.util.Bits;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+//reservoir sampling with geometric skips (Li's algorithm L) in O(k) memory
+public class SampleCollector extends SimpleCollector {
+    private final int[] reservoir;
+    private final SplittableRandom random;
+    private int size;
+    private int docBase;
+    private long seen;
+    //1-based ordinal of the next match that replaces a reservoir slot
+    private long next;
+    private double w;
+
+    public SampleCollector(final int k, final long seed) {
+        this.reservoir = new int[k];
+        this.random = new SplittableRandom(seed);
+    }
+
+    @Override
+    protected void doSetNextReader(final LeafReaderContext context) {
+        docBase = context.docBase;
+    }
+
+    @Override
+    public void collect(final int doc) {
+        offer(docBase + doc);
+    }
+
+    @Override
+    public boolean needsScores() {
+        return false;
+    }
+
+    //as if every live doc of the segment had been collected
+    public void collectAll(final LeafReaderContext context) {
+        final int maxDoc = context.reader().maxDoc();
+        final Bits liveDocs = context.reader().getLiveDocs();
+        int doc = 0;
+        while (size < reservoir.length && doc < maxDoc) {
+            if (liveDocs == null || liveDocs.get(doc)) {
+                offer(context.docBase + doc);
+            }
+            doc++;
+        }
+        if (liveDocs != null) {
+            for (; doc < maxDoc; doc++) {
+                if (liveDocs.get(doc)) {
+                    offer(context.docBase + doc);
+                }
+            }
+            return;
+        }
+        while (doc < maxDoc) {
+            final long skip = next - seen - 1;
+            if (skip >= maxDoc - doc) {
+                seen += maxDoc - doc;
+                return;
+            }
+            doc += (int) skip;
+            seen += skip;
+            offer(context.docBase + doc);
+            doc++;
+        }
+    }
+
+    public long getTotalHits() {
+        return seen;
+    }
+
+    public int[] getDocs() {
+        final int[] docs = Arrays.copyOf(reservoir, size);
+        Arrays.sort(docs);
+        return docs;
+    }
+
+    private void offer(final int doc) {
+        seen++;
+        if (size < reservoir.length) {
+            reservoir[size++] = doc;
+            if (size == reservoir.length) {
+                w = Math.exp(Math.log(uniform()) / reservoir.length);
+                scheduleNext();
+            }
+        } else if (seen == next) {
+            reservoir[random.nextInt(reservoir.length)] = doc;
+            w *= Math.exp(Math.log(uniform()) / reservoir.length);
+            scheduleNext();
+        }
+    }
+
+    private void scheduleNext() {
+        //a huge skip saturates to Long.MAX_VALUE, which no match count reaches
+        next = seen + (long) Math.floor(Math.log(uniform()) / Math.log1p(-w)) + 1;
+    }
+
+    //(0, 1], so that the logarithm stays finite
+    private double uniform() {
+        return 1 - random.nextDouble();
+    }
+}
@@ -0,0 +1,136 @@
+package org.trofiv.labs.search.index;
+
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.DocumentStoredFieldVisitor;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.util.IntroSorter;
+
+import java.io.IOException;
+import java.util.Set;
+
+public class ScoredHits {
+    private final IndexReader reader;
+    private final int[] docs;
+    private final float[] scores;
+    private final int size;
+
+    public ScoredHits(final IndexReader reader, final int[] docs, final float[] scores, final int size) {
+        this.reader = reader;
+        this.docs = docs;
+        this.scores = scores;
+        this.size = size;
+    }
+
+    public static ScoredHits of(final IndexReader reader, final TopDocs topDocs) {
+        final ScoreDoc[] scoreDocs = topDocs.scoreDocs;
+        final int[] docs = new int[scoreDocs.length];
+        final float[] scores = new float[scoreDocs.length];
+        for (int i = 0; i < scoreDocs.length; i++) {
+            docs[i] = scoreDocs[i].doc;
+            scores[i] = scoreDocs[i].score;
+        }
+        return new ScoredHits(reader, docs, scores, scoreDocs.length);
+    }
+
+    public static ScoredHits ranked(final IndexReader reader, final int[] docs, final float[] scores, final int size) {
+        new RankSorter(docs, scores).sort(0, size);
+        return new ScoredHits(reader, docs, scores, size);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int doc(final int rank) {
+        checkRank(rank);
+        return docs[rank];
+    }
+
+    public float score(final int rank) {
+        checkRank(rank);
+        return scores[rank];
+    }
+
+    public Document document(final int rank) {
+        checkRank(rank);
+        final DocumentStoredFieldVisitor visitor = new DocumentStoredFieldVisitor();
+        try {
+            Readers.document(reader, docs[rank], visitor);
+            return visitor.getDocument();
+        } catch (IOException e) {
+            throw new IllegalStateException("Can't extract document by id: " + docs[rank], e);
+        }
+    }
+
+    public Hit hit(final int rank, final Set<String> fields) {
+        checkRank(rank);
+        return new Hit(reader, fields, docs[rank], scores[rank]);
+    }
+
+    public void forEach(final ScoredDocConsumer consumer) {
+        for (int i = 0; i < size; i++) {
+            consumer.accept(docs[i], scores[i]);
+        }
+    }
+
+    private void checkRank(final int rank) {
+        if (rank < 0 || rank >= size) {
+            throw new IndexOutOfBoundsException("Rank " + rank + " is out of [0, " + size + ')');
+        }
+    }
+
+    @FunctionalInterface
+    public interface ScoredDocConsumer {
+        void accept(int doc, float score);
+    }
+
+    private static final class RankSorter extends IntroSorter {
+        private final int[] docs;
+        private final float[] scores;
+        private int pivotDoc;
+        private float pivotScore;
+
+        private RankSorter(final int[] docs, final float[] scores) {
+            this.docs = docs;
+            this.scores = scores;
+        }
+
+        @Override
+        protected void swap(final int i, final int j) {
+            final int doc = docs[i];
+            docs[i] = docs[j];
+            docs[j] = doc;
+            final float score = scores[i];
+            scores[i] = scores[j];
+            scores[j] = score;
+        }
+
+        @Override
+        protected int compare(final int i, final int j) {
+            return compare(docs[i], scores[i], docs[j], scores[j]);
+        }
+
+        @Override
+        protected void setPivot(final int i) {
+            pivotDoc = docs[i];
+            pivotScore = scores[i];
+        }
+
+        @Override
+        protected int comparePivot(final int j) {
+            return compare(pivotDoc, pivotScore, docs[j], scores[j]);
+        }
+
+        private static int compare(final int firstDoc, final float firstScore,
+                                   final int secondDoc, final float secondScore) {
+            final int byScore = Float.compare(secondScore, firstScore);
+            return byScore == 0 ? Integer.compare(firstDoc, secondDoc) : byScore;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package org.trofiv.labs.search.index;
+
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.search.Scorer;
+import org.apache.lucene.search.SimpleCollector;
+import org.apache.lucene.util.ArrayUtil;
+
+import java.io.IOException;
+
+public class ScoredHitsCollector extends SimpleCollector {
+    private static final int INITIAL_CAPACITY = 64;
+    private int[] docs = new int[INITIAL_CAPACITY];
+    private float[] scores = new float[INITIAL_CAPACITY];
+    private int size;
+    private int docBase;
+    private Scorer scorer;
+
+    @Override
+    protected void doSetNextReader(final LeafReaderContext context) {
+        docBase = context.docBase;
+    }
+
+    @Override
+    public void setScorer(final Scorer scorer) {
+        this.scorer = scorer;
+    }
+
+    @Override
+    public void collect(final int doc) throws IOException {
+        if (size == docs.length) {
+            docs = ArrayUtil.grow(docs, size + 1);
+            scores = ArrayUtil.grow(scores, size + 1);
+        }
+        docs[size] = docBase + doc;
+        scores[size] = scorer.score();
+        size++;
+    }
+
+    @Override
+    public boolean needsScores() {
+        return true;
+    }
+
+    public ScoredHits toScoredHits(final IndexReader reader) {
+        return ScoredHits.ranked(reader, docs, scores, size);
+    }
+}
@@ -0,0 +1,18 @@
+package org.trofiv.labs.search.index;
+
+import lombok.Value;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.search.ScoreDoc;
+
+import java.util.List;
+
+@Value
+public class SearchPage {
+    List<Document> documents;
+    ScoreDoc cursor;
+    int totalHits;
+
+    public boolean hasNext() {
+        return cursor != null;
+    }
+}
@@ -0,0 +1,55 @@
+package org.trofiv.labs.search.index;
+
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.LeafReaderContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+public class SlicedIndexSearcher extends org.apache.lucene.search.IndexSearcher {
+    //Lucene computes slices from inside its constructor, before any field of ours is assigned
+    private static final ThreadLocal<IndexSearcherConfig> PENDING_CONFIG = new ThreadLocal<>();
+
+    private SlicedIndexSearcher(final IndexReader reader, final ExecutorService executor) {
+        super(reader, executor);
+    }
+
+    public static SlicedIndexSearcher create(final IndexReader reader,
+                                             final ExecutorService executor,
+                                             final IndexSearcherConfig config) {
+        PENDING_CONFIG.set(config);
+        try {
+            return new SlicedIndexSearcher(reader, executor);
+        } finally {
+            PENDING_CONFIG.remove();
+        }
+    }
+
+    @Override
+    protected LeafSlice[] slices(final List<LeafReaderContext> leaves) {
+        final IndexSearcherConfig config = PENDING_CONFIG.get();
+        if (config == null) {
+            return super.slices(leaves);
+        }
+        final int maxDocsPerSlice = config.getMaxDocsPerSlice();
+        final int maxSegmentsPerSlice = config.getMaxSegmentsPerSlice();
+        final List<LeafSlice> slices = new ArrayList<>();
+        List<LeafReaderContext> group = new ArrayList<>();
+        long groupDocs = 0;
+        //slices stay in docBase order: merged results break score ties by slice, so this keeps them in doc order
+        for (final LeafReaderContext leaf : leaves) {
+            group.add(leaf);
+            groupDocs += leaf.reader().maxDoc();
+            if (groupDocs >= maxDocsPerSlice || group.size() >= maxSegmentsPerSlice) {
+                slices.add(new LeafSlice(group.toArray(new LeafReaderContext[group.size()])));
+                group = new ArrayList<>();
+                groupDocs = 0;
+            }
+        }
+        if (!group.isEmpty()) {
+            slices.add(new LeafSlice(group.toArray(new LeafReaderContext[group.size()])));
+        }
+        return slices.toArray(new LeafSlice[slices.size()]);
+    }
+}
@@ -0,0 +1,33 @@
+package org.trofiv.labs.search.index;
+
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.SortField.Type;
+import org.apache.lucene.search.SortedSetSortField;
+import org.trofiv.labs.search.document.DocumentModel;
+
+public enum Sorts {
+    ;
+
+    public static Sort byPrice(final boolean reverse) {
+        return byFloat("price", reverse);
+    }
+
+    //cheapest product first, whole blocks at a time
+    public static Sort byBlockPrice() {
+        return byFloat(DocumentModel.BLOCK_PRICE_FIELD, false);
+    }
+
+    public static Sort byFloat(final String field, final boolean reverse) {
+        final SortField sortField = new SortField(field, Type.FLOAT, reverse);
+        //documents of other scopes have no value and always go after the priced ones
+        sortField.setMissingValue(reverse ? Float.NEGATIVE_INFINITY : Float.POSITIVE_INFINITY);
+        return new Sort(sortField);
+    }
+
+    public static Sort byKeyword(final String field, final boolean reverse) {
+        final SortField sortField = new SortedSetSortField(field, reverse);
+        sortField.setMissingValue(reverse ? SortField.STRING_FIRST : SortField.STRING_LAST);
+        return new Sort(sortField);
+    }
+}
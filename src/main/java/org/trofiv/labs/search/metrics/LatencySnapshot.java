@@ -0,0 +1,14 @@
+package org.trofiv.labs.search.metrics;
+
+import lombok.Value;
+
+@Value
+public class LatencySnapshot {
+    long count;
+    long meanNanos;
+    long p50Nanos;
+    long p90Nanos;
+    long p99Nanos;
+    long p999Nanos;
+    long maxNanos;
+}
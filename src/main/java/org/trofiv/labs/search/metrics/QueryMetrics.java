@@ -0,0 +1,40 @@
+package org.trofiv.labs.search.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+//search covers matching, scoring and collection, fetch covers stored field loads
+public final class QueryMetrics {
+    private final LatencyHistogram searchLatency = new LatencyHistogram();
+    private final LatencyHistogram fetchLatency = new LatencyHistogram();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder documentsLoaded = new LongAdder();
+    private final LongAdder cachedQueries = new LongAdder();
+
+    public void recordSearch(final long nanos, final long hitCount) {
+        searchLatency.record(nanos);
+        hits.add(hitCount);
+    }
+
+    //served from the result cache, kept apart so that lookups don't skew the search latencies
+    public void recordCacheHit() {
+        cachedQueries.increment();
+    }
+
+    public void recordFetch(final long nanos, final int documents) {
+        fetchLatency.record(nanos);
+        documentsLoaded.add(documents);
+    }
+
+    void reset() {
+        searchLatency.reset();
+        fetchLatency.reset();
+        hits.reset();
+        documentsLoaded.reset();
+        cachedQueries.reset();
+    }
+
+    QueryMetricsSnapshot snapshot() {
+        return new QueryMetricsSnapshot(searchLatency.snapshot(), fetchLatency.snapshot(),
+                hits.sum(), documentsLoaded.sum(), cachedQueries.sum());
+    }
+}
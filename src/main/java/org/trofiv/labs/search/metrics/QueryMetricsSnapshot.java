@@ -0,0 +1,17 @@
+package org.trofiv.labs.search.metrics;
+
+import lombok.Value;
+
+@Value
+public class QueryMetricsSnapshot {
+    LatencySnapshot search;
+    LatencySnapshot fetch;
+    long hits;
+    long documentsLoaded;
+    long cachedQueries;
+
+    //searched plus served from the result cache
+    public long getQueries() {
+        return search.getCount() + cachedQueries;
+    }
+}
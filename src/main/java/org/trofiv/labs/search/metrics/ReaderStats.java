@@ -0,0 +1,16 @@
+package org.trofiv.labs.search.metrics;
+
+import lombok.Value;
+import org.apache.lucene.index.IndexReader;
+
+@Value
+public class ReaderStats {
+    int segments;
+    int numDocs;
+    int maxDoc;
+    int deletedDocs;
+
+    public static ReaderStats of(final IndexReader reader) {
+        return new ReaderStats(reader.leaves().size(), reader.numDocs(), reader.maxDoc(), reader.numDeletedDocs());
+    }
+}
@@ -0,0 +1,74 @@
+package org.trofiv.labs.search.metrics;
+
+import lombok.extern.log4j.Log4j2;
+import org.apache.lucene.search.Query;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+@Log4j2
+public class SearchMetrics implements SearchMetricsMXBean {
+    public static final String JMX_DOMAIN = "org.trofiv.labs.search";
+    private final ConcurrentMap<Class<?>, QueryMetrics> queries = new ConcurrentHashMap<>();
+    private final Supplier<ReaderStats> readerStats;
+    private ObjectName objectName;
+
+    public SearchMetrics(final Supplier<ReaderStats> readerStats) {
+        this.readerStats = readerStats;
+    }
+
+    public QueryMetrics forQuery(final Query query) {
+        return queries.computeIfAbsent(query.getClass(), type -> new QueryMetrics());
+    }
+
+    public SearchMetricsSnapshot snapshot() {
+        final Map<String, QueryMetricsSnapshot> snapshots = new TreeMap<>();
+        queries.forEach((type, metrics) -> snapshots.put(name(type), metrics.snapshot()));
+        return new SearchMetricsSnapshot(snapshots, readerStats.get());
+    }
+
+    @Override
+    public SearchMetricsSnapshot getSnapshot() {
+        return snapshot();
+    }
+
+    @Override
+    public void reset() {
+        queries.values().forEach(QueryMetrics::reset);
+    }
+
+    public synchronized void register(final String name) {
+        try {
+            final ObjectName candidate = new ObjectName(
+                    JMX_DOMAIN + ":type=IndexSearcher,name=" + ObjectName.quote(name));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, candidate);
+            objectName = candidate;
+        } catch (JMException e) {
+            throw new IllegalStateException("Can't register search metrics as " + name, e);
+        }
+    }
+
+    public synchronized void unregister() {
+        if (objectName == null) {
+            return;
+        }
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            server.unregisterMBean(objectName);
+        } catch (JMException e) {
+            log.warn("Can't unregister search metrics {}", objectName, e);
+        }
+        objectName = null;
+    }
+
+    private static String name(final Class<?> type) {
+        return type.getSimpleName().isEmpty() ? type.getName() : type.getSimpleName();
+    }
+}
@@ -0,0 +1,7 @@
+package org.trofiv.labs.search.metrics;
+
+public interface SearchMetricsMXBean {
+    SearchMetricsSnapshot getSnapshot();
+
+    void reset();
+}
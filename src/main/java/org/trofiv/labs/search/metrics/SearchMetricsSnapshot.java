@@ -0,0 +1,12 @@
+package org.trofiv.labs.search.metrics;
+
+import lombok.Value;
+
+import java.util.Map;
+
+@Value
+public class SearchMetricsSnapshot {
+    //keyed by query class name
+    Map<String, QueryMetricsSnapshot> queries;
+    ReaderStats reader;
+}
@@ -0,0 +1,32 @@
+package org.trofiv.labs.search.profile;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+//counts and inclusive nanos of one node, summed over segments
+final class ProfileBreakdown {
+    private static final ProfileTiming[] TIMINGS = ProfileTiming.values();
+    private final long[] counts = new long[TIMINGS.length];
+    private final long[] nanos = new long[TIMINGS.length];
+
+    void record(final ProfileTiming timing, final long start) {
+        nanos[timing.ordinal()] += System.nanoTime() - start;
+        counts[timing.ordinal()]++;
+    }
+
+    Map<ProfileTiming, Long> counts() {
+        return toMap(counts);
+    }
+
+    Map<ProfileTiming, Long> nanos() {
+        return toMap(nanos);
+    }
+
+    private static Map<ProfileTiming, Long> toMap(final long[] values) {
+        final Map<ProfileTiming, Long> map = new EnumMap<>(ProfileTiming.class);
+        for (final ProfileTiming timing : TIMINGS) {
+            map.put(timing, values[timing.ordinal()]);
+        }
+        return map;
+    }
+}
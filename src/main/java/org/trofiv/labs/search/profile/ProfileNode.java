@@ -0,0 +1,31 @@
+package org.trofiv.labs.search.profile;
+
+import org.apache.lucene.search.Query;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+final class ProfileNode {
+    private final Query query;
+    private final ProfileBreakdown breakdown = new ProfileBreakdown();
+    private final List<ProfileNode> children = new ArrayList<>();
+
+    ProfileNode(final Query query) {
+        this.query = query;
+    }
+
+    ProfileBreakdown getBreakdown() {
+        return breakdown;
+    }
+
+    void addChild(final ProfileNode child) {
+        children.add(child);
+    }
+
+    QueryProfile toProfile() {
+        return new QueryProfile(query.getClass().getSimpleName(), query.toString(),
+                breakdown.counts(), breakdown.nanos(),
+                children.stream().map(ProfileNode::toProfile).collect(Collectors.toList()));
+    }
+}
@@ -0,0 +1,106 @@
+package org.trofiv.labs.search.profile;
+
+import org.apache.lucene.search.DocIdSetIterator;
+import org.apache.lucene.search.Scorer;
+import org.apache.lucene.search.TwoPhaseIterator;
+import org.apache.lucene.search.Weight;
+
+import java.io.IOException;
+import java.util.Collection;
+
+final class ProfileScorer extends Scorer {
+    private final Scorer in;
+    private final ProfileBreakdown breakdown;
+
+    ProfileScorer(final Weight weight, final Scorer in, final ProfileBreakdown breakdown) {
+        super(weight);
+        this.in = in;
+        this.breakdown = breakdown;
+    }
+
+    @Override
+    public int docID() {
+        return in.docID();
+    }
+
+    @Override
+    public float score() throws IOException {
+        final long start = System.nanoTime();
+        final float score = in.score();
+        breakdown.record(ProfileTiming.SCORE, start);
+        return score;
+    }
+
+    @Override
+    public int freq() throws IOException {
+        return in.freq();
+    }
+
+    @Override
+    public Collection<ChildScorer> getChildren() throws IOException {
+        return in.getChildren();
+    }
+
+    @Override
+    public DocIdSetIterator iterator() {
+        return new ProfileIterator(in.iterator(), breakdown);
+    }
+
+    @Override
+    public TwoPhaseIterator twoPhaseIterator() {
+        final TwoPhaseIterator twoPhase = in.twoPhaseIterator();
+        if (twoPhase == null) {
+            return null;
+        }
+        return new TwoPhaseIterator(new ProfileIterator(twoPhase.approximation(), breakdown)) {
+            @Override
+            public boolean matches() throws IOException {
+                final long start = System.nanoTime();
+                final boolean matches = twoPhase.matches();
+                breakdown.record(ProfileTiming.MATCH, start);
+                return matches;
+            }
+
+            @Override
+            public float matchCost() {
+                return twoPhase.matchCost();
+            }
+        };
+    }
+
+    private static final class ProfileIterator extends DocIdSetIterator {
+        private final DocIdSetIterator in;
+        private final ProfileBreakdown breakdown;
+
+        private ProfileIterator(final DocIdSetIterator in, final ProfileBreakdown breakdown) {
+            this.in = in;
+            this.breakdown = breakdown;
+        }
+
+        @Override
+        public int docID() {
+            return in.docID();
+        }
+
+        @Override
+        public int nextDoc() throws IOException {
+            final long start = System.nanoTime();
+            final int doc = in.nextDoc();
+            breakdown.record(ProfileTiming.NEXT_DOC, start);
+            return doc;
+        }
+
+        @Override
+        public int advance(final int target) throws IOException {
+            final long start = System.nanoTime();
+            final int doc = in.advance(target);
+            breakdown.record(ProfileTiming.ADVANCE, start);
+            return doc;
+        }
+
+        @Override
+        public long cost() {
+            return in.cost();
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package org.trofiv.labs.search.profile;
+
+public enum ProfileTiming {
+    CREATE_WEIGHT,
+    BUILD_SCORER,
+    NEXT_DOC,
+    ADVANCE,
+    MATCH,
+    SCORE
+}
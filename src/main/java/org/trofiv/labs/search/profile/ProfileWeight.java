@@ -0,0 +1,56 @@
+package org.trofiv.labs.search.profile;
+
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BulkScorer;
+import org.apache.lucene.search.Explanation;
+import org.apache.lucene.search.Scorer;
+import org.apache.lucene.search.Weight;
+
+import java.io.IOException;
+import java.util.Set;
+
+final class ProfileWeight extends Weight {
+    private final Weight in;
+    private final ProfileBreakdown breakdown;
+
+    ProfileWeight(final Weight in, final ProfileBreakdown breakdown) {
+        super(in.getQuery());
+        this.in = in;
+        this.breakdown = breakdown;
+    }
+
+    @Override
+    public Scorer scorer(final LeafReaderContext context) throws IOException {
+        final long start = System.nanoTime();
+        final Scorer scorer = in.scorer(context);
+        breakdown.record(ProfileTiming.BUILD_SCORER, start);
+        return scorer == null ? null : new ProfileScorer(this, scorer, breakdown);
+    }
+
+    @Override
+    public BulkScorer bulkScorer(final LeafReaderContext context) throws IOException {
+        //a specialized bulk scorer would bypass the profiled iterator, so always drive scorer() one doc at a time
+        return super.bulkScorer(context);
+    }
+
+    @Override
+    public void extractTerms(final Set<Term> terms) {
+        in.extractTerms(terms);
+    }
+
+    @Override
+    public Explanation explain(final LeafReaderContext context, final int doc) throws IOException {
+        return in.explain(context, doc);
+    }
+
+    @Override
+    public float getValueForNormalization() throws IOException {
+        return in.getValueForNormalization();
+    }
+
+    @Override
+    public void normalize(final float norm, final float boost) {
+        in.normalize(norm, boost);
+    }
+}
@@ -0,0 +1,62 @@
+package org.trofiv.labs.search.profile;
+
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.Weight;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.stream.Collectors;
+
+//wraps the weights of every clause, the query cache is off so every clause runs
+public class ProfilingIndexSearcher extends IndexSearcher {
+    private final Deque<ProfileNode> stack = new ArrayDeque<>();
+    private final List<ProfileNode> roots = new ArrayList<>();
+    private long rewriteNanos;
+
+    public ProfilingIndexSearcher(final IndexReader reader) {
+        super(reader);
+        setQueryCache(null);
+    }
+
+    @Override
+    public Query rewrite(final Query original) throws IOException {
+        final long start = System.nanoTime();
+        try {
+            return super.rewrite(original);
+        } finally {
+            rewriteNanos += System.nanoTime() - start;
+        }
+    }
+
+    @Override
+    public Weight createWeight(final Query query, final boolean needsScores) throws IOException {
+        final ProfileNode node = new ProfileNode(query);
+        if (stack.isEmpty()) {
+            roots.add(node);
+        } else {
+            stack.peek().addChild(node);
+        }
+        stack.push(node);
+        final long start = System.nanoTime();
+        try {
+            final Weight weight = super.createWeight(query, needsScores);
+            node.getBreakdown().record(ProfileTiming.CREATE_WEIGHT, start);
+            return new ProfileWeight(weight, node.getBreakdown());
+        } finally {
+            stack.pop();
+        }
+    }
+
+    public long getRewriteNanos() {
+        return rewriteNanos;
+    }
+
+    public List<QueryProfile> getProfiles() {
+        return roots.stream().map(ProfileNode::toProfile).collect(Collectors.toList());
+    }
+}
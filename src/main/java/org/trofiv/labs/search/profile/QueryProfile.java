@@ -0,0 +1,20 @@
+package org.trofiv.labs.search.profile;
+
+import lombok.Value;
+
+import java.util.List;
+import java.util.Map;
+
+//times are inclusive of the children
+@Value
+public class QueryProfile {
+    String type;
+    String description;
+    Map<ProfileTiming, Long> counts;
+    Map<ProfileTiming, Long> nanos;
+    List<QueryProfile> children;
+
+    public long getTotalNanos() {
+        return nanos.values().stream().mapToLong(Long::longValue).sum();
+    }
+}
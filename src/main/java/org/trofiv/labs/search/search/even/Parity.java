@@ -0,0 +1,31 @@
+package org.trofiv.labs.search.search.even;
+
+public enum Parity {
+    EVEN(0, 0x5555555555555555L),
+    ODD(1, 0xAAAAAAAAAAAAAAAAL);
+
+    private final int remainder;
+    private final long wordMask;
+
+    Parity(final int remainder, final long wordMask) {
+        this.remainder = remainder;
+        this.wordMask = wordMask;
+    }
+
+    boolean matches(final int doc) {
+        return (doc & 1) == remainder;
+    }
+
+    //words always start at an even doc
+    long wordMask() {
+        return wordMask;
+    }
+
+    int first(final int target) {
+        return matches(target) ? target : target + 1;
+    }
+
+    long count(final int maxDoc) {
+        return (maxDoc + 1 - remainder) / 2;
+    }
+}
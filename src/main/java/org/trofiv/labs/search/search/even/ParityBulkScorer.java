@@ -0,0 +1,74 @@
+package org.trofiv.labs.search.search.even;
+
+import org.apache.lucene.search.BulkScorer;
+import org.apache.lucene.search.DocIdSetIterator;
+import org.apache.lucene.search.LeafCollector;
+import org.apache.lucene.search.Weight;
+import org.apache.lucene.util.Bits;
+import org.apache.lucene.util.FixedBitSet;
+
+import java.io.IOException;
+
+//with FixedBitSet live docs the parity mask is applied 64 docs at a time
+class ParityBulkScorer extends BulkScorer {
+    private final Weight weight;
+    private final float score;
+    private final Parity parity;
+    private final int maxDoc;
+
+    ParityBulkScorer(final Weight weight, final float score, final Parity parity, final int maxDoc) {
+        this.weight = weight;
+        this.score = score;
+        this.parity = parity;
+        this.maxDoc = maxDoc;
+    }
+
+    @Override
+    public int score(final LeafCollector collector, final Bits acceptDocs, final int min, final int max)
+            throws IOException {
+        final int end = Math.min(max, maxDoc);
+        //collectors see a regular parity scorer, moved onto every collected doc
+        final ParityScorer scorer = new ParityScorer(weight, score, parity, maxDoc);
+        final DocIdSetIterator iterator = scorer.iterator();
+        collector.setScorer(scorer);
+        if (acceptDocs instanceof FixedBitSet) {
+            scoreWords(collector, iterator, ((FixedBitSet) acceptDocs).getBits(), min, end);
+        } else {
+            for (int doc = parity.first(min); doc < end; doc += 2) {
+                if (acceptDocs == null || acceptDocs.get(doc)) {
+                    iterator.advance(doc);
+                    collector.collect(doc);
+                }
+            }
+        }
+        return end >= maxDoc ? DocIdSetIterator.NO_MORE_DOCS : end;
+    }
+
+    private void scoreWords(final LeafCollector collector, final DocIdSetIterator iterator,
+                            final long[] liveWords, final int min, final int end) throws IOException {
+        if (min >= end) {
+            return;
+        }
+        final int lastWord = (end - 1) >> 6;
+        for (int i = min >> 6; i <= lastWord; i++) {
+            long word = liveWords[i] & parity.wordMask();
+            if (i == min >> 6) {
+                word &= -1L << min;
+            }
+            if (i == lastWord) {
+                word &= -1L >>> -end;
+            }
+            while (word != 0) {
+                final int doc = (i << 6) + Long.numberOfTrailingZeros(word);
+                iterator.advance(doc);
+                collector.collect(doc);
+                word &= word - 1;
+            }
+        }
+    }
+
+    @Override
+    public long cost() {
+        return parity.count(maxDoc);
+    }
+}
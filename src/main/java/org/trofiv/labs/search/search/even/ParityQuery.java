@@ -0,0 +1,41 @@
+package org.trofiv.labs.search.search.even;
+
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.Weight;
+
+import java.io.IOException;
+
+//parity of segment-relative doc ids, top-level ones shift when an earlier segment goes away
+//while the query cache keeps per-segment results
+public class ParityQuery extends Query {
+    private final Parity parity;
+
+    public ParityQuery(final Parity parity) {
+        this.parity = parity;
+    }
+
+    public Parity getParity() {
+        return parity;
+    }
+
+    @Override
+    public String toString(final String field) {
+        return "Parity query(" + parity + ')';
+    }
+
+    @Override
+    public Weight createWeight(final IndexSearcher searcher, final boolean needsScores) throws IOException {
+        return new ParityWeight(this, parity);
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        return sameClassAs(obj) && parity == ((ParityQuery) obj).parity;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * classHash() + parity.hashCode();
+    }
+}
@@ -0,0 +1,109 @@
+package org.trofiv.labs.search.search.even;
+
+import org.apache.lucene.search.DocIdSetIterator;
+import org.apache.lucene.search.Scorer;
+import org.apache.lucene.search.TwoPhaseIterator;
+import org.apache.lucene.search.Weight;
+
+//the approximation accepts any target, so a conjunction only pays a bit check
+class ParityScorer extends Scorer {
+    private final float score;
+    private final Parity parity;
+    private final int maxDoc;
+    private final DocIdSetIterator iterator;
+    private final TwoPhaseIterator twoPhaseIterator;
+    private int doc = -1;
+
+    ParityScorer(final Weight weight, final float score, final Parity parity, final int maxDoc) {
+        super(weight);
+        this.score = score;
+        this.parity = parity;
+        this.maxDoc = maxDoc;
+        this.iterator = new ParityIterator();
+        this.twoPhaseIterator = new TwoPhaseIterator(new AllDocsIterator()) {
+            @Override
+            public boolean matches() {
+                return parity.matches(doc);
+            }
+
+            @Override
+            public float matchCost() {
+                return 1;
+            }
+        };
+    }
+
+    @Override
+    public int docID() {
+        return doc;
+    }
+
+    @Override
+    public float score() {
+        return score;
+    }
+
+    @Override
+    public int freq() {
+        return 1;
+    }
+
+    @Override
+    public DocIdSetIterator iterator() {
+        return iterator;
+    }
+
+    @Override
+    public TwoPhaseIterator twoPhaseIterator() {
+        return twoPhaseIterator;
+    }
+
+    private int moveTo(final int target) {
+        doc = target < maxDoc ? target : DocIdSetIterator.NO_MORE_DOCS;
+        return doc;
+    }
+
+    private final class ParityIterator extends DocIdSetIterator {
+        @Override
+        public int docID() {
+            return doc;
+        }
+
+        @Override
+        public int nextDoc() {
+            return advance(doc + 1);
+        }
+
+        @Override
+        public int advance(final int target) {
+            return moveTo(target < maxDoc ? parity.first(target) : target);
+        }
+
+        @Override
+        public long cost() {
+            return parity.count(maxDoc);
+        }
+    }
+
+    private final class AllDocsIterator extends DocIdSetIterator {
+        @Override
+        public int docID() {
+            return doc;
+        }
+
+        @Override
+        public int nextDoc() {
+            return advance(doc + 1);
+        }
+
+        @Override
+        public int advance(final int target) {
+            return moveTo(target);
+        }
+
+        @Override
+        public long cost() {
+            return maxDoc;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package org.trofiv.labs.search.search.even;
+
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.search.BulkScorer;
+import org.apache.lucene.search.ConstantScoreWeight;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.Scorer;
+
+import java.io.IOException;
+
+class ParityWeight extends ConstantScoreWeight {
+    private final Parity parity;
+
+    ParityWeight(final Query query, final Parity parity) {
+        super(query);
+        this.parity = parity;
+    }
+
+    @Override
+    public Scorer scorer(final LeafReaderContext context) throws IOException {
+        final int maxDoc = context.reader().maxDoc();
+        return maxDoc == 0 ? null : new ParityScorer(this, score(), parity, maxDoc);
+    }
+
+    @Override
+    public BulkScorer bulkScorer(final LeafReaderContext context) throws IOException {
+        final int maxDoc = context.reader().maxDoc();
+        return maxDoc == 0 ? null : new ParityBulkScorer(this, score(), parity, maxDoc);
+    }
+}
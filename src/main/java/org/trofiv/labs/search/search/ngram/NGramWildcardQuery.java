@@ -0,0 +1,103 @@
+package org.trofiv.labs.search.search.ngram;
+
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.ConstantScoreQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.WildcardQuery;
+import org.trofiv.labs.search.document.NGramFields;
+
+import java.io.IOException;
+
+//matches like WildcardQuery, but exact prefix* and *infix* patterns become gram term lookups
+@SuppressWarnings("PublicMethodNotExposedInInterface")
+public class NGramWildcardQuery extends Query {
+    private final Term term;
+
+    public NGramWildcardQuery(final Term term) {
+        this.term = term;
+    }
+
+    public Term getTerm() {
+        return term;
+    }
+
+    @Override
+    public Query rewrite(final IndexReader reader) throws IOException {
+        final Term gram = gramTerm();
+        if (gram == null || !indexed(reader, gram.field())) {
+            return new WildcardQuery(term);
+        }
+        //the wildcard query rewrites into a constant score query as well, so scores do not change either
+        return new ConstantScoreQuery(new TermQuery(gram));
+    }
+
+    //null when the pattern needs an expansion
+    Term gramTerm() {
+        final String pattern = term.text();
+        final int length = pattern.length();
+        if (length < 2 || pattern.charAt(length - 1) != WildcardQuery.WILDCARD_STRING) {
+            return null;
+        }
+        final boolean infix = pattern.charAt(0) == WildcardQuery.WILDCARD_STRING;
+        final String literal = pattern.substring(infix ? 1 : 0, length - 1);
+        if (!isLiteral(literal)) {
+            return null;
+        }
+        final int grams = literal.codePointCount(0, literal.length());
+        if (infix) {
+            return grams >= NGramFields.NGRAM_MIN_GRAM && grams <= NGramFields.NGRAM_MAX_GRAM
+                    ? new Term(NGramFields.ngram(term.field()), literal)
+                    : null;
+        }
+        return grams >= NGramFields.EDGE_MIN_GRAM && grams <= NGramFields.EDGE_MAX_GRAM
+                ? new Term(NGramFields.edge(term.field()), literal)
+                : null;
+    }
+
+    private static boolean isLiteral(final String literal) {
+        if (literal.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < literal.length(); i++) {
+            final char c = literal.charAt(i);
+            if (c == WildcardQuery.WILDCARD_STRING || c == WildcardQuery.WILDCARD_CHAR
+                    || c == WildcardQuery.WILDCARD_ESCAPE) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    //a segment without the subfield was written without grams and must not silently match nothing,
+    //IndexBuilder refuses to mix gram and plain blocks within one index
+    private static boolean indexed(final IndexReader reader, final String field) {
+        for (final LeafReaderContext context : reader.leaves()) {
+            if (context.reader().getFieldInfos().fieldInfo(field) == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString(final String field) {
+        final StringBuilder buffer = new StringBuilder();
+        if (!term.field().equals(field)) {
+            buffer.append(term.field()).append(':');
+        }
+        return buffer.append(term.text()).toString();
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        return sameClassAs(obj) && term.equals(((NGramWildcardQuery) obj).term);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * classHash() + term.hashCode();
+    }
+}
@@ -0,0 +1,75 @@
+package org.trofiv.labs.search.search.price;
+
+import org.apache.lucene.document.FloatPoint;
+import org.apache.lucene.search.BooleanClause.Occur;
+import org.apache.lucene.search.BooleanQuery.Builder;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.join.ScoreMode;
+import org.apache.lucene.search.join.ToParentBlockJoinQuery;
+import org.trofiv.labs.search.index.BlockFilters;
+
+import static org.trofiv.labs.search.document.DocumentModel.MAX_PRICE_FIELD;
+import static org.trofiv.labs.search.document.DocumentModel.MIN_PRICE_FIELD;
+import static org.trofiv.labs.search.document.DocumentModel.SKU_MAX_PRICE_FIELD;
+import static org.trofiv.labs.search.document.DocumentModel.SKU_MIN_PRICE_FIELD;
+
+public enum PriceQueries {
+    ;
+
+    public static Query productsWithPriceIn(final float lower, final float upper) {
+        return withPriceIn(MIN_PRICE_FIELD, MAX_PRICE_FIELD, lower, upper, true);
+    }
+
+    public static Query skusWithPriceIn(final float lower, final float upper) {
+        return withPriceIn(SKU_MIN_PRICE_FIELD, SKU_MAX_PRICE_FIELD, lower, upper, false);
+    }
+
+    public static Query productsWithAllPricesIn(final float lower, final float upper) {
+        return withAllPricesIn(MIN_PRICE_FIELD, MAX_PRICE_FIELD, lower, upper);
+    }
+
+    public static Query skusWithAllPricesIn(final float lower, final float upper) {
+        return withAllPricesIn(SKU_MIN_PRICE_FIELD, SKU_MAX_PRICE_FIELD, lower, upper);
+    }
+
+    public static Query skusJoinedWithPriceIn(final float lower, final float upper) {
+        return new ToParentBlockJoinQuery(FloatPoint.newRangeQuery("price", lower, upper),
+                BlockFilters.SKUS, ScoreMode.None);
+    }
+
+    public static Query productsJoinedWithPriceIn(final float lower, final float upper) {
+        return new ToParentBlockJoinQuery(skusJoinedWithPriceIn(lower, upper),
+                BlockFilters.PRODUCTS, ScoreMode.None);
+    }
+
+    private static Query withPriceIn(final String minField,
+                                     final String maxField,
+                                     final float lower,
+                                     final float upper,
+                                     final boolean products) {
+        //a one-sided bound is decided by the rollup alone: some price <= upper iff the minimum is
+        if (lower == Float.NEGATIVE_INFINITY) {
+            return FloatPoint.newRangeQuery(minField, Float.NEGATIVE_INFINITY, upper);
+        }
+        if (upper == Float.POSITIVE_INFINITY) {
+            return FloatPoint.newRangeQuery(maxField, lower, Float.POSITIVE_INFINITY);
+        }
+        //a price gap may fall right into a two-sided range, so the rollup only prunes candidates for the join
+        return new Builder()
+                .add(FloatPoint.newRangeQuery(minField, Float.NEGATIVE_INFINITY, upper), Occur.FILTER)
+                .add(FloatPoint.newRangeQuery(maxField, lower, Float.POSITIVE_INFINITY), Occur.FILTER)
+                .add(products ? productsJoinedWithPriceIn(lower, upper) : skusJoinedWithPriceIn(lower, upper),
+                        Occur.FILTER)
+                .build();
+    }
+
+    private static Query withAllPricesIn(final String minField,
+                                         final String maxField,
+                                         final float lower,
+                                         final float upper) {
+        return new Builder()
+                .add(FloatPoint.newRangeQuery(minField, lower, Float.POSITIVE_INFINITY), Occur.FILTER)
+                .add(FloatPoint.newRangeQuery(maxField, Float.NEGATIVE_INFINITY, upper), Occur.FILTER)
+                .build();
+    }
+}
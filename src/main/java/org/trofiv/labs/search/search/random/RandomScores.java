@@ -0,0 +1,34 @@
+package org.trofiv.labs.search.search.random;
+
+import org.apache.lucene.index.LeafReader;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.SegmentReader;
+
+//a score is a hash of the seed, the segment and the segment-relative doc
+enum RandomScores {
+    ;
+    public static final long DEFAULT_SEED = 172488;
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    private static final float UNIT = 0x1.0p-24f;
+
+    //from the segment name, so it survives other segments being merged away
+    static long segmentSeed(final long seed, final LeafReaderContext context) {
+        final LeafReader reader = context.reader();
+        final String segment = reader instanceof SegmentReader
+                ? ((SegmentReader) reader).getSegmentName()
+                : Integer.toString(context.docBase);
+        return mix(seed ^ mix(segment.hashCode()));
+    }
+
+    static float unitFloat(final long segmentSeed, final int doc) {
+        return (mix(segmentSeed + doc * GOLDEN_GAMMA) >>> 40) * UNIT;
+    }
+
+    //SplitMix64 finalizer
+    private static long mix(final long value) {
+        long z = value;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,99 @@
+package org.trofiv.labs.search.search.random;
+
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.search.BulkScorer;
+import org.apache.lucene.search.DocIdSetIterator;
+import org.apache.lucene.search.LeafCollector;
+import org.apache.lucene.search.Scorer;
+import org.apache.lucene.search.Weight;
+import org.apache.lucene.search.similarities.Similarity.SimScorer;
+import org.apache.lucene.util.Bits;
+
+import java.io.IOException;
+
+//every doc matches, so collection is a counted loop over the live docs
+class RandomizedBulkScorer extends BulkScorer {
+    private final SimScorer simScorer;
+    private final Weight weight;
+    private final int maxDoc;
+
+    RandomizedBulkScorer(final LeafReaderContext context, final SimScorer simScorer, final Weight weight) {
+        this.simScorer = simScorer;
+        this.weight = weight;
+        this.maxDoc = context.reader().maxDoc();
+    }
+
+    @Override
+    public int score(final LeafCollector collector, final Bits acceptDocs, final int min, final int max)
+            throws IOException {
+        final int end = Math.min(max, maxDoc);
+        final CurrentDocScorer scorer = new CurrentDocScorer(weight, simScorer, maxDoc);
+        collector.setScorer(scorer);
+        for (int doc = min; doc < end; doc++) {
+            if (acceptDocs == null || acceptDocs.get(doc)) {
+                scorer.doc = doc;
+                collector.collect(doc);
+            }
+        }
+        return end >= maxDoc ? DocIdSetIterator.NO_MORE_DOCS : end;
+    }
+
+    @Override
+    public long cost() {
+        return maxDoc;
+    }
+
+    private static final class CurrentDocScorer extends Scorer {
+        private final SimScorer simScorer;
+        private final int maxDoc;
+        private int doc = -1;
+
+        private CurrentDocScorer(final Weight weight, final SimScorer simScorer, final int maxDoc) {
+            super(weight);
+            this.simScorer = simScorer;
+            this.maxDoc = maxDoc;
+        }
+
+        @Override
+        public int docID() {
+            return doc;
+        }
+
+        @Override
+        public float score() {
+            return simScorer.score(doc, 1);
+        }
+
+        @Override
+        public int freq() {
+            return 1;
+        }
+
+        @Override
+        public DocIdSetIterator iterator() {
+            //every doc matches, so the iterator only has to share the current doc
+            return new DocIdSetIterator() {
+                @Override
+                public int docID() {
+                    return doc;
+                }
+
+                @Override
+                public int nextDoc() {
+                    return advance(doc + 1);
+                }
+
+                @Override
+                public int advance(final int target) {
+                    doc = target < maxDoc ? target : NO_MORE_DOCS;
+                    return doc;
+                }
+
+                @Override
+                public long cost() {
+                    return maxDoc;
+                }
+            };
+        }
+    }
+}
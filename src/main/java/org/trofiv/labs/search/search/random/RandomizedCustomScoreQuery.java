@@ -3,35 +3,66 @@ package org.trofiv.labs.search.search.random;
 import org.apache.lucene.index.LeafReaderContext;
 import org.apache.lucene.queries.CustomScoreProvider;
 import org.apache.lucene.queries.CustomScoreQuery;
+import org.apache.lucene.search.Explanation;
 import org.apache.lucene.search.Query;
 
 import java.io.IOException;
-import java.util.Random;
 
 public class RandomizedCustomScoreQuery extends CustomScoreQuery {
     public static final float LOWER_BOUND = 0.0f;
     public static final float UPPER_BOUND = 10.0f;
+    private final long seed;
 
     public RandomizedCustomScoreQuery(final Query subQuery) {
+        this(subQuery, RandomScores.DEFAULT_SEED);
+    }
+
+    public RandomizedCustomScoreQuery(final Query subQuery, final long seed) {
         super(subQuery);
+        this.seed = seed;
+    }
+
+    public long getSeed() {
+        return seed;
     }
 
     @Override
     protected CustomScoreProvider getCustomScoreProvider(final LeafReaderContext context) throws IOException {
-        return new RandomizedCustomScoreProvider(context);
+        return new RandomizedCustomScoreProvider(context, seed);
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        return super.equals(obj) && seed == ((RandomizedCustomScoreQuery) obj).seed;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * super.hashCode() + Long.hashCode(seed);
     }
 
-    @SuppressWarnings("WeakerAccess")
     private static class RandomizedCustomScoreProvider extends CustomScoreProvider {
-        private static final Random RANDOM = new Random(172488);
+        private final long seed;
+        private final long segmentSeed;
 
-        public RandomizedCustomScoreProvider(final LeafReaderContext context) {
+        private RandomizedCustomScoreProvider(final LeafReaderContext context, final long seed) {
             super(context);
+            this.seed = seed;
+            this.segmentSeed = RandomScores.segmentSeed(seed, context);
         }
 
         @Override
         public float customScore(final int doc, final float subQueryScore, final float valSrcScore) throws IOException {
-            return RANDOM.nextFloat() * UPPER_BOUND;
+            return RandomScores.unitFloat(segmentSeed, doc) * UPPER_BOUND;
+        }
+
+        @Override
+        public Explanation customExplain(final int doc,
+                                         final Explanation subQueryExpl,
+                                         final Explanation[] valSrcExpls) throws IOException {
+            return Explanation.match(customScore(doc, subQueryExpl.getValue(), 0),
+                    "random score in [" + LOWER_BOUND + ", " + UPPER_BOUND + "), hash of seed=" + seed
+                            + ", segment and doc=" + doc + ", sub query score ignored", subQueryExpl);
         }
     }
 }
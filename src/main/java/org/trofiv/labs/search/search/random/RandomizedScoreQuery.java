@@ -9,15 +9,29 @@ import java.io.IOException;
 
 @SuppressWarnings("PublicMethodNotExposedInInterface")
 public class RandomizedScoreQuery extends Query {
+    private final long seed;
+
+    public RandomizedScoreQuery() {
+        this(RandomScores.DEFAULT_SEED);
+    }
+
+    public RandomizedScoreQuery(final long seed) {
+        this.seed = seed;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
     @Override
     @SuppressWarnings("PublicMethodNotExposedInInterface")
     public String toString(final String field) {
-        return "Even query";
+        return "Randomized score query(seed=" + seed + ')';
     }
 
     @Override
     public Weight createWeight(final IndexSearcher searcher, final boolean needsScores) throws IOException {
-        return new RandomizedWeight(this);
+        return new RandomizedWeight(this, seed);
     }
 
     @Override
@@ -26,13 +40,12 @@ public class RandomizedScoreQuery extends Query {
     }
 
     @Override
-    @SuppressWarnings("EqualsWhichDoesntCheckParameterClass")
     public boolean equals(final Object obj) {
-        return true;
+        return sameClassAs(obj) && seed == ((RandomizedScoreQuery) obj).seed;
     }
 
     @Override
     public int hashCode() {
-        return 0;
+        return 31 * classHash() + Long.hashCode(seed);
     }
-}
\ No newline at end of file
+}
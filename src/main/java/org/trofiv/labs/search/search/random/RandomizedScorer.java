@@ -4,22 +4,19 @@ import org.apache.lucene.index.LeafReaderContext;
 import org.apache.lucene.search.DocIdSetIterator;
 import org.apache.lucene.search.Scorer;
 import org.apache.lucene.search.Weight;
-import org.apache.lucene.search.similarities.Similarity;
-import org.apache.lucene.search.similarities.Similarity.SimWeight;
+import org.apache.lucene.search.similarities.Similarity.SimScorer;
 
 import java.io.IOException;
 
 public class RandomizedScorer extends Scorer {
     private final DocIdSetIterator iterator;
-    private final Similarity similarity;
-    private final LeafReaderContext context;
+    private final SimScorer simScorer;
 
     @SuppressWarnings("WeakerAccess")
-    public RandomizedScorer(final LeafReaderContext context, final Similarity similarity, final Weight w) {
+    public RandomizedScorer(final LeafReaderContext context, final SimScorer simScorer, final Weight w) {
         super(w);
         this.iterator = DocIdSetIterator.all(context.reader().maxDoc());
-        this.similarity = similarity;
-        this.context = context;
+        this.simScorer = simScorer;
     }
 
     @Override
@@ -29,8 +26,7 @@ public class RandomizedScorer extends Scorer {
 
     @Override
     public float score() throws IOException {
-        final SimWeight simWeight = similarity.computeWeight(null);
-        return similarity.simScorer(simWeight, context).score(docID(), freq());
+        return simScorer.score(iterator.docID(), 1);
     }
 
     @Override
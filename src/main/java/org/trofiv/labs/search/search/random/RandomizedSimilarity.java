@@ -3,25 +3,32 @@ package org.trofiv.labs.search.search.random;
 import org.apache.lucene.index.FieldInvertState;
 import org.apache.lucene.index.LeafReaderContext;
 import org.apache.lucene.search.CollectionStatistics;
+import org.apache.lucene.search.Explanation;
 import org.apache.lucene.search.TermStatistics;
 import org.apache.lucene.search.similarities.Similarity;
 import org.apache.lucene.util.BytesRef;
 
 import java.io.IOException;
-import java.util.Random;
 
 public class RandomizedSimilarity extends Similarity {
     public static final float LOWER_BOUND = 0.0f;
     public static final float UPPER_BOUND = 100.0f;
-    private static final Random RANDOM = new Random(172488);
-    private final SimScorer simScorer;
+    private final long seed;
     private final SimWeight simWeight;
 
     public RandomizedSimilarity() {
-        this.simScorer = new RandomizedSimScorer();
+        this(RandomScores.DEFAULT_SEED);
+    }
+
+    public RandomizedSimilarity(final long seed) {
+        this.seed = seed;
         this.simWeight = new RandomizedSimWeight();
     }
 
+    public long getSeed() {
+        return seed;
+    }
+
     @Override
     public long computeNorm(final FieldInvertState state) {
         return 0;
@@ -34,7 +41,7 @@ public class RandomizedSimilarity extends Similarity {
 
     @Override
     public SimScorer simScorer(final SimWeight weight, final LeafReaderContext context) throws IOException {
-        return simScorer;
+        return new RandomizedSimScorer(seed, RandomScores.segmentSeed(seed, context));
     }
 
     private static class RandomizedSimWeight extends SimWeight {
@@ -49,9 +56,24 @@ public class RandomizedSimilarity extends Similarity {
     }
 
     private static class RandomizedSimScorer extends SimScorer {
+        private final long seed;
+        private final long segmentSeed;
+
+        private RandomizedSimScorer(final long seed, final long segmentSeed) {
+            this.seed = seed;
+            this.segmentSeed = segmentSeed;
+        }
+
         @Override
         public float score(final int doc, final float freq) {
-            return RANDOM.nextFloat() * UPPER_BOUND;
+            return RandomScores.unitFloat(segmentSeed, doc) * UPPER_BOUND;
+        }
+
+        @Override
+        public Explanation explain(final int doc, final Explanation freq) {
+            return Explanation.match(score(doc, freq.getValue()),
+                    "random score in [" + LOWER_BOUND + ", " + UPPER_BOUND + "), hash of seed=" + seed
+                            + ", segment and doc=" + doc);
         }
 
         @Override
@@ -2,18 +2,25 @@ package org.trofiv.labs.search.search.random;
 
 import org.apache.lucene.index.LeafReaderContext;
 import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BulkScorer;
 import org.apache.lucene.search.Explanation;
 import org.apache.lucene.search.Query;
 import org.apache.lucene.search.Scorer;
 import org.apache.lucene.search.Weight;
+import org.apache.lucene.search.similarities.Similarity.SimWeight;
 
 import java.io.IOException;
 import java.util.Set;
 
 public class RandomizedWeight extends Weight {
+    private final RandomizedSimilarity similarity;
+    private final SimWeight simWeight;
+
     @SuppressWarnings("WeakerAccess")
-    public RandomizedWeight(final Query query) {
+    public RandomizedWeight(final Query query, final long seed) {
         super(query);
+        this.similarity = new RandomizedSimilarity(seed);
+        this.simWeight = similarity.computeWeight(null);
     }
 
     @Override
@@ -22,9 +29,11 @@ public class RandomizedWeight extends Weight {
     }
 
     @Override
-    @SuppressWarnings("ReturnOfNull")
     public Explanation explain(final LeafReaderContext context, final int doc) throws IOException {
-        return null;
+        if (doc >= context.reader().maxDoc()) {
+            return Explanation.noMatch("no such document");
+        }
+        return similarity.simScorer(simWeight, context).explain(doc, Explanation.match(1, "freq"));
     }
 
     @Override
@@ -39,6 +48,11 @@ public class RandomizedWeight extends Weight {
 
     @Override
     public Scorer scorer(final LeafReaderContext context) throws IOException {
-        return new RandomizedScorer(context, new RandomizedSimilarity(), this);
+        return new RandomizedScorer(context, similarity.simScorer(simWeight, context), this);
+    }
+
+    @Override
+    public BulkScorer bulkScorer(final LeafReaderContext context) throws IOException {
+        return new RandomizedBulkScorer(context, similarity.simScorer(simWeight, context), this);
     }
 }
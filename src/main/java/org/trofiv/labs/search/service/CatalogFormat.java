@@ -0,0 +1,7 @@
+package org.trofiv.labs.search.service;
+
+public enum CatalogFormat {
+    //the shape of the bundled product_data.json
+    JSON_ARRAY,
+    NDJSON
+}
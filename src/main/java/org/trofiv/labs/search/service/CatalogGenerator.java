@@ -0,0 +1,159 @@
+package org.trofiv.labs.search.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.trofiv.labs.search.document.DocumentModel;
+import org.trofiv.labs.search.document.PriceInfoModel;
+import org.trofiv.labs.search.document.SKUModel;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.Set;
+
+//seeded and streaming, the same config and count always yield the same catalog
+public class CatalogGenerator {
+    private static final ObjectMapper JSON_MAPPER = new ObjectMapper();
+    private static final ObjectWriter DOCUMENT_WRITER = JSON_MAPPER.writerFor(DocumentModel.class)
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+    private static final int OBJECT_ID_LENGTH = 24;
+    private static final float PRICE_SCALE = 100;
+    private final CatalogGeneratorConfig config;
+    private final WeightedChoice brands;
+    private final WeightedChoice genders;
+    private final WeightedChoice colors;
+    private final WeightedChoice sizes;
+
+    public CatalogGenerator(final CatalogGeneratorConfig config) {
+        checkRange("SKU count", config.getMinSkus(), config.getMaxSkus(), 1);
+        checkRange("price count", config.getMinPrices(), config.getMaxPrices(), 1);
+        checkRange("description word count", config.getMinDescriptionWords(), config.getMaxDescriptionWords(), 1);
+        if (!(config.getMinPrice() > 0 && config.getMinPrice() <= config.getMaxPrice())) {
+            throw new IllegalArgumentException("Invalid price range ["
+                    + config.getMinPrice() + ", " + config.getMaxPrice() + ']');
+        }
+        if (config.getNames().isEmpty() || config.getAddresses().isEmpty() || config.getVocabulary().isEmpty()) {
+            throw new IllegalArgumentException("Names, addresses and vocabulary must not be empty");
+        }
+        this.config = config;
+        this.brands = new WeightedChoice("brand", config.getBrands());
+        this.genders = new WeightedChoice("gender", config.getGenders());
+        this.colors = new WeightedChoice("color", config.getColors());
+        this.sizes = new WeightedChoice("size", config.getSizes());
+    }
+
+    public Iterator<DocumentModel> iterator(final long products) {
+        final Random random = new Random(config.getSeed());
+        return new Iterator<DocumentModel>() {
+            private long generated;
+
+            @Override
+            public boolean hasNext() {
+                return generated < products;
+            }
+
+            @Override
+            public DocumentModel next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                generated++;
+                return product(random);
+            }
+        };
+    }
+
+    //the stream is flushed but left open
+    public void write(final OutputStream outputStream, final long products, final CatalogFormat format)
+            throws IOException {
+        try (JsonGenerator generator = JSON_MAPPER.getFactory().createGenerator(outputStream)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            if (format == CatalogFormat.JSON_ARRAY) {
+                generator.writeStartArray();
+            } else {
+                generator.setRootValueSeparator(new SerializedString("\n"));
+            }
+            final Iterator<DocumentModel> iterator = iterator(products);
+            while (iterator.hasNext()) {
+                DOCUMENT_WRITER.writeValue(generator, iterator.next());
+            }
+            if (format == CatalogFormat.JSON_ARRAY) {
+                generator.writeEndArray();
+            } else if (products > 0) {
+                generator.writeRaw('\n');
+            }
+        }
+    }
+
+    private DocumentModel product(final Random random) {
+        final int skuCount = between(random, config.getMinSkus(), config.getMaxSkus());
+        //SKU and price models hash by identity, insertion order keeps the output reproducible
+        final Set<SKUModel> skus = new LinkedHashSet<>(skuCount * 2);
+        for (int i = 0; i < skuCount; i++) {
+            skus.add(sku(random));
+        }
+        return new DocumentModel(objectId(random), pick(random, config.getNames()), genders.pick(random),
+                brands.pick(random), description(random), skus);
+    }
+
+    private SKUModel sku(final Random random) {
+        final int priceCount = between(random, config.getMinPrices(), config.getMaxPrices());
+        final Set<PriceInfoModel> prices = new LinkedHashSet<>(priceCount * 2);
+        for (int i = 0; i < priceCount; i++) {
+            prices.add(new PriceInfoModel(pick(random, config.getAddresses()), price(random)));
+        }
+        return new SKUModel(objectId(random), sizes.pick(random), colors.pick(random), prices);
+    }
+
+    private float price(final Random random) {
+        final double price = config.getMinPrice()
+                + random.nextDouble() * (config.getMaxPrice() - config.getMinPrice());
+        return Math.min(config.getMaxPrice(), Math.round(price * PRICE_SCALE) / PRICE_SCALE);
+    }
+
+    private String description(final Random random) {
+        final int words = between(random, config.getMinDescriptionWords(), config.getMaxDescriptionWords());
+        final StringBuilder description = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                description.append(' ');
+            }
+            description.append(pick(random, config.getVocabulary()));
+        }
+        return description.append('.').toString();
+    }
+
+    private static String objectId(final Random random) {
+        final char[] id = new char[OBJECT_ID_LENGTH];
+        for (int i = 0; i < OBJECT_ID_LENGTH; i += 8) {
+            int bits = random.nextInt();
+            for (int j = 0; j < 8; j++) {
+                id[i + j] = HEX_DIGITS[bits & 0xF];
+                bits >>>= 4;
+            }
+        }
+        return new String(id);
+    }
+
+    private static String pick(final Random random, final List<String> values) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    private static int between(final Random random, final int min, final int max) {
+        return min + random.nextInt(max - min + 1);
+    }
+
+    private static void checkRange(final String name, final int min, final int max, final int lowest) {
+        if (min < lowest || min > max) {
+            throw new IllegalArgumentException("Invalid " + name + " range [" + min + ", " + max + ']');
+        }
+    }
+}
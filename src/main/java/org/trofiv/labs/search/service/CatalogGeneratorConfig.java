@@ -0,0 +1,68 @@
+package org.trofiv.labs.search.service;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+//defaults reproduce src/test/resources/schema.json
+@Value
+@Builder
+public class CatalogGeneratorConfig {
+    @Builder.Default
+    long seed = 0;
+    @Builder.Default
+    int minSkus = 1;
+    @Builder.Default
+    int maxSkus = 10;
+    @Builder.Default
+    int minPrices = 1;
+    @Builder.Default
+    int maxPrices = 20;
+    @Builder.Default
+    float minPrice = 0.01f;
+    @Builder.Default
+    float maxPrice = 10000;
+    @Builder.Default
+    int minDescriptionWords = 20;
+    @Builder.Default
+    int maxDescriptionWords = 80;
+    @Builder.Default
+    Map<String, Double> brands = uniform(
+            "HUGO BOSS", "Diesel", "Lacoste", "Adidas", "Reebok", "Puma", "Nike");
+    @Builder.Default
+    Map<String, Double> genders = uniform("male", "female");
+    @Builder.Default
+    Map<String, Double> colors = uniform(
+            "red", "orange", "yellow", "green", "blue", "brown", "black", "white");
+    @Builder.Default
+    Map<String, Double> sizes = uniform("XS", "S", "M", "L", "XL");
+    @Builder.Default
+    List<String> names = Arrays.asList(
+            "Ann", "Bob", "Claire", "Dmitry", "Eva", "Fedor", "Gleb", "Helen", "Ivan", "Julia");
+    @Builder.Default
+    List<String> addresses = Arrays.asList(
+            "Alabama", "Alaska", "Arizona", "California", "Colorado", "Florida", "Iowa", "Ohio", "Texas", "Utah");
+    @Builder.Default
+    List<String> vocabulary = Arrays.asList(("lorem ipsum dolor sit amet consectetur adipiscing elit sed do "
+            + "eiusmod tempor incididunt ut labore et dolore magna aliqua enim ad minim veniam quis nostrud "
+            + "exercitation ullamco laboris nisi aliquip ex ea commodo consequat duis aute irure in reprehenderit "
+            + "voluptate velit esse cillum fugiat nulla pariatur excepteur occaecat cupidatat non proident sunt "
+            + "culpa qui officia deserunt mollit anim id est laborum").split(" "));
+
+    public static CatalogGeneratorConfig defaults() {
+        return builder().build();
+    }
+
+    public static Map<String, Double> uniform(final String... values) {
+        final Map<String, Double> weights = new LinkedHashMap<>();
+        for (final String value : values) {
+            weights.put(value, 1.0);
+        }
+        return Collections.unmodifiableMap(weights);
+    }
+}
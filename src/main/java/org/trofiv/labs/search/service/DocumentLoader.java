@@ -1,20 +1,45 @@
 package org.trofiv.labs.search.service;
 
+import com.fasterxml.jackson.databind.MappingIterator;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import org.trofiv.labs.search.document.DocumentModel;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import static java.util.Arrays.asList;
 
 public enum DocumentLoader {
     ;
     private static final ObjectMapper JSON_MAPPER = new ObjectMapper();
+    private static final ObjectReader DOCUMENT_READER = JSON_MAPPER.readerFor(DocumentModel.class);
 
     public static List<DocumentModel> loadDocuments(final InputStream inputStream) throws IOException {
         return asList(JSON_MAPPER.readValue(inputStream, DocumentModel[].class));
     }
 
+    public static MappingIterator<DocumentModel> iterateDocuments(final InputStream inputStream) throws IOException {
+        //readValues() unwraps a root-level array itself and reads root-level values in sequence otherwise
+        return DOCUMENT_READER.readValues(inputStream);
+    }
+
+    public static Stream<DocumentModel> streamDocuments(final InputStream inputStream) throws IOException {
+        final MappingIterator<DocumentModel> iterator = iterateDocuments(inputStream);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(
+                iterator, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(() -> {
+                    try {
+                        iterator.close();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException("Can't close document parser", e);
+                    }
+                });
+    }
 }
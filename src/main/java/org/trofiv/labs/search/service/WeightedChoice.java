@@ -0,0 +1,44 @@
+package org.trofiv.labs.search.service;
+
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Random;
+
+final class WeightedChoice {
+    private final String[] values;
+    private final double[] cumulativeWeights;
+
+    WeightedChoice(final String name, final Map<String, Double> weights) {
+        values = new String[weights.size()];
+        cumulativeWeights = new double[weights.size()];
+        double total = 0;
+        int i = 0;
+        for (final Entry<String, Double> entry : weights.entrySet()) {
+            if (entry.getValue() < 0) {
+                throw new IllegalArgumentException("Negative weight of " + name + " value " + entry.getKey());
+            }
+            total += entry.getValue();
+            values[i] = entry.getKey();
+            cumulativeWeights[i] = total;
+            i++;
+        }
+        if (total <= 0) {
+            throw new IllegalArgumentException("No " + name + " value has a positive weight");
+        }
+    }
+
+    String pick(final Random random) {
+        final double point = random.nextDouble() * cumulativeWeights[cumulativeWeights.length - 1];
+        int low = 0;
+        int high = cumulativeWeights.length - 1;
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            if (cumulativeWeights[middle] > point) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+        return values[low];
+    }
+}
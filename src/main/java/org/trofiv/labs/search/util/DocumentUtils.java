@@ -1,37 +1,44 @@
 package org.trofiv.labs.search.util;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
 import org.apache.lucene.document.Document;
 import org.apache.lucene.index.IndexableField;
+import org.trofiv.labs.search.index.Hit;
 
+import java.io.IOException;
+import java.io.StringWriter;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
-import java.util.function.Function;
 import java.util.stream.Collectors;
 
 public enum DocumentUtils {
     ;
-    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
 
     public static String dumpDocument(final Document document) {
-        final ObjectNode objectNode = OBJECT_MAPPER.createObjectNode();
-        document.getFields().forEach(field -> objectNode.put(field.name(), field.stringValue()));
-        return objectNode.toString();
+        final StringWriter writer = new StringWriter();
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(writer)) {
+            generator.writeStartObject();
+            for (final IndexableField field : document.getFields()) {
+                generator.writeStringField(field.name(), field.stringValue());
+            }
+            generator.writeEndObject();
+        } catch (IOException e) {
+            throw new IllegalStateException("Can't dump document!", e);
+        }
+        return writer.toString();
     }
 
     public static Set<String> toDocumentIds(final Collection<Document> documents) {
         return documents.stream().map(doc -> doc.getFields().get(0).stringValue()).collect(Collectors.toSet());
     }
 
-    public static Map<String, Document> indexDocuments(
-            final Collection<Document> documents,
-            final String fieldName) {
-        return indexDocuments(documents, fieldName, i -> true);
+    public static Set<String> toHitIds(final Collection<Hit> hits) {
+        return hits.stream().map(hit -> hit.getDocument().getFields().get(0).stringValue()).collect(Collectors.toSet());
     }
 
     public static String getFieldValue(final Document document, final String fieldName) {
@@ -39,16 +46,6 @@ public enum DocumentUtils {
         return field == null ? "" : field.stringValue();
     }
 
-    public static Map<String, Document> indexDocuments(
-            final Collection<Document> documents,
-            final String fieldName,
-            final Function<Document, Boolean> documentFilter) {
-        return documents.stream()
-                .filter(documentFilter::apply)
-                .filter(doc -> doc.getField(fieldName) != null)
-                .collect(Collectors.toMap(doc -> getFieldValue(doc, fieldName), Function.identity()));
-    }
-
     public static boolean areEqual(final Document first, final Document second) {
         final List<IndexableField> firstFields = first.getFields();
         final List<IndexableField> secondFields = second.getFields();
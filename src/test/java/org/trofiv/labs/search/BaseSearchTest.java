@@ -1,6 +1,7 @@
 package org.trofiv.labs.search;
 
 import lombok.extern.log4j.Log4j2;
+import org.junit.AfterClass;
 import org.junit.BeforeClass;
 import org.trofiv.labs.search.document.DocumentModel;
 import org.trofiv.labs.search.index.IndexBuilder;
@@ -18,7 +19,7 @@ public abstract class BaseSearchTest {
     private static final String INDEX_DIR_NAME = "idx";
     protected static IndexSearcher indexSearcher;
     protected static List<DocumentModel> documentModels;
-    private static Path indexPath;
+    protected static Path indexPath;
 
     @BeforeClass
     public static void setUp() {
@@ -50,4 +51,9 @@ public abstract class BaseSearchTest {
             throw new IllegalStateException("Can't find classpath resource " + INDEX_DATA_LOCATION, e);
         }
     }
+
+    @AfterClass
+    public static void tearDown() throws IOException {
+        indexSearcher.close();
+    }
 }
@@ -0,0 +1,83 @@
+package org.trofiv.labs.search;
+
+import org.apache.lucene.document.FloatPoint;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause.Occur;
+import org.apache.lucene.search.BooleanQuery.Builder;
+import org.apache.lucene.search.TermQuery;
+import org.junit.Test;
+import org.trofiv.labs.search.document.DocumentModel;
+import org.trofiv.labs.search.document.SKUModel;
+import org.trofiv.labs.search.index.BlockHit;
+import org.trofiv.labs.search.index.BlockHit.Level;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.junit.Assert.assertThat;
+
+@SuppressWarnings("MagicNumber")
+public class BlockHitTest extends BaseSearchTest {
+    private static final int MAX_HITS = 10000;
+
+    @Test
+    public void testProductHits() {
+        final List<BlockHit> hits = indexSearcher.blockSearch(new TermQuery(new Term("gender", "male")), MAX_HITS);
+        final long expected = documentModels.stream().filter(doc -> "male".equals(doc.getGender())).count();
+        assertThat((long) hits.size(), equalTo(expected));
+        for (final BlockHit hit : hits) {
+            assertThat(hit.getLevel(), equalTo(Level.PRODUCT));
+            assertThat(hit.hasSku(), equalTo(false));
+            assertThat(hit.getProduct().getDoc(), equalTo(hit.getDoc()));
+            assertThat(products().get(hit.getProduct().get("id")).getGender(), equalTo("male"));
+        }
+    }
+
+    @Test
+    public void testSkuHits() {
+        final List<BlockHit> hits = indexSearcher.blockSearch(new Builder()
+                .add(new TermQuery(new Term("color", "black")), Occur.MUST)
+                .add(new TermQuery(new Term("size", "S")), Occur.MUST)
+                .build(), MAX_HITS);
+        assertThat(hits.size(), greaterThan(0));
+        for (final BlockHit hit : hits) {
+            assertThat(hit.getLevel(), equalTo(Level.SKU));
+            final SKUModel sku = sku(hit);
+            assertThat(sku.getColor(), equalTo("black"));
+            assertThat(sku.getSize(), equalTo("S"));
+        }
+    }
+
+    @Test
+    public void testPriceHits() {
+        final List<BlockHit> hits = indexSearcher.blockSearch(
+                FloatPoint.newRangeQuery("price", 100.0f, 200.0f), MAX_HITS);
+        final long expected = documentModels.stream()
+                .flatMap(doc -> doc.getSku().stream())
+                .flatMap(sku -> sku.getPrices().stream())
+                .filter(price -> price.getPrice() >= 100.0f && price.getPrice() <= 200.0f)
+                .count();
+        assertThat((long) hits.size(), equalTo(expected));
+        for (final BlockHit hit : hits) {
+            assertThat(hit.getLevel(), equalTo(Level.PRICE));
+            assertThat(sku(hit).getPrices().stream().anyMatch(price -> price.getPrice() == hit.getPrice()),
+                    equalTo(true));
+        }
+    }
+
+    private static Map<String, DocumentModel> products() {
+        return documentModels.stream().collect(Collectors.toMap(DocumentModel::getId, Function.identity()));
+    }
+
+    private static SKUModel sku(final BlockHit hit) {
+        final String skuId = hit.getSku().get("skuId");
+        return products().get(hit.getProduct().get("id")).getSku().stream()
+                .filter(sku -> sku.getSkuId().equals(skuId))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("SKU " + skuId + " is not in its product block"));
+    }
+}
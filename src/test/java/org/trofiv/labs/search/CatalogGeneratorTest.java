@@ -0,0 +1,105 @@
+package org.trofiv.labs.search;
+
+import org.junit.Test;
+import org.trofiv.labs.search.document.DocumentModel;
+import org.trofiv.labs.search.document.PriceInfoModel;
+import org.trofiv.labs.search.document.SKUModel;
+import org.trofiv.labs.search.service.CatalogFormat;
+import org.trofiv.labs.search.service.CatalogGenerator;
+import org.trofiv.labs.search.service.CatalogGeneratorConfig;
+import org.trofiv.labs.search.service.DocumentLoader;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.not;
+import static org.junit.Assert.assertThat;
+
+public class CatalogGeneratorTest {
+    private static final int PRODUCTS = 500;
+    private static final CatalogGenerator GENERATOR = new CatalogGenerator(
+            CatalogGeneratorConfig.builder().seed(42).build());
+
+    @Test
+    public void testSameSeedSameCatalog() throws IOException {
+        assertThat(write(GENERATOR, CatalogFormat.NDJSON), equalTo(write(GENERATOR, CatalogFormat.NDJSON)));
+        assertThat(write(new CatalogGenerator(CatalogGeneratorConfig.builder().seed(43).build()), CatalogFormat.NDJSON),
+                not(equalTo(write(GENERATOR, CatalogFormat.NDJSON))));
+    }
+
+    @Test
+    public void testFormatsReadBack() throws IOException {
+        final List<String> arrayIds = read(write(GENERATOR, CatalogFormat.JSON_ARRAY)).stream()
+                .map(DocumentModel::getId)
+                .collect(Collectors.toList());
+        final List<String> ndJsonIds = read(write(GENERATOR, CatalogFormat.NDJSON)).stream()
+                .map(DocumentModel::getId)
+                .collect(Collectors.toList());
+        assertThat(arrayIds.size(), equalTo(PRODUCTS));
+        assertThat(new HashSet<>(arrayIds).size(), equalTo(PRODUCTS));
+        assertThat(ndJsonIds, equalTo(arrayIds));
+    }
+
+    @Test
+    public void testSchemaBounds() throws IOException {
+        for (final DocumentModel product : read(write(GENERATOR, CatalogFormat.JSON_ARRAY))) {
+            assertThat(product.getSku().size(), allOf(greaterThanOrEqualTo(1), lessThanOrEqualTo(10)));
+            for (final SKUModel sku : product.getSku()) {
+                assertThat(sku.getPrices().size(), allOf(greaterThanOrEqualTo(1), lessThanOrEqualTo(20)));
+                for (final PriceInfoModel price : sku.getPrices()) {
+                    assertThat(price.getPrice(), allOf(greaterThanOrEqualTo(0.01f), lessThanOrEqualTo(10000f)));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testConfiguredDistribution() throws IOException {
+        final Map<String, Double> brands = new HashMap<>();
+        brands.put("Nike", 3.0);
+        brands.put("Puma", 1.0);
+        brands.put("Diesel", 0.0);
+        final CatalogGenerator generator = new CatalogGenerator(CatalogGeneratorConfig.builder()
+                .seed(7)
+                .brands(brands)
+                .colors(CatalogGeneratorConfig.uniform("black"))
+                .vocabulary(Arrays.asList("alpha", "beta"))
+                .build());
+        final Map<String, Long> brandCounts = new HashMap<>();
+        for (final DocumentModel product : read(write(generator, CatalogFormat.NDJSON))) {
+            brandCounts.merge(product.getBrand(), 1L, Long::sum);
+            assertThat(Stream.of(product.getDescription().replace(".", "").split(" "))
+                    .allMatch(word -> "alpha".equals(word) || "beta".equals(word)), equalTo(true));
+            assertThat(product.getSku().stream().allMatch(sku -> "black".equals(sku.getColor())), equalTo(true));
+        }
+        assertThat(brandCounts.containsKey("Diesel"), equalTo(false));
+        assertThat(brandCounts.get("Nike"), greaterThanOrEqualTo(2 * brandCounts.get("Puma")));
+    }
+
+    private static byte[] write(final CatalogGenerator generator, final CatalogFormat format) throws IOException {
+        final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        generator.write(stream, PRODUCTS, format);
+        return stream.toByteArray();
+    }
+
+    private static List<DocumentModel> read(final byte[] json) throws IOException {
+        final List<DocumentModel> products = new ArrayList<>();
+        try (Stream<DocumentModel> docs = DocumentLoader.streamDocuments(new ByteArrayInputStream(json))) {
+            docs.forEach(products::add);
+        }
+        return products;
+    }
+}
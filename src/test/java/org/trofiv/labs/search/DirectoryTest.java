@@ -0,0 +1,62 @@
+package org.trofiv.labs.search;
+
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.TermQuery;
+import org.junit.Test;
+import org.trofiv.labs.search.document.DocumentModel;
+import org.trofiv.labs.search.index.DirectoryType;
+import org.trofiv.labs.search.index.IndexBuilder;
+import org.trofiv.labs.search.index.IndexBuilderConfig;
+import org.trofiv.labs.search.index.IndexSearcher;
+import org.trofiv.labs.search.index.IndexSearcherConfig;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+public class DirectoryTest extends BaseSearchTest {
+    private static final Query QUERY = new TermQuery(new Term("color", "black"));
+
+    @Test
+    public void testEveryDirectoryTypeSearchesTheSameIndex() throws IOException {
+        final int expected = indexSearcher.count(QUERY);
+        for (final DirectoryType directoryType : DirectoryType.values()) {
+            for (final boolean preload : new boolean[]{false, true}) {
+                final IndexSearcherConfig config = IndexSearcherConfig.builder()
+                        .directoryType(directoryType)
+                        .preload(preload)
+                        .build();
+                try (IndexSearcher searcher = new IndexSearcher(indexPath.toString(), config)) {
+                    assertThat(directoryType + " preload=" + preload, searcher.count(QUERY), equalTo(expected));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testNrtCachingWritePath() throws IOException {
+        final Path path = Files.createTempDirectory("nrt_caching_idx");
+        final IndexBuilderConfig config = IndexBuilderConfig.builder()
+                .directoryType(DirectoryType.NIOFS)
+                .nrtCachingMaxMergeSizeMB(5)
+                .build();
+        try (IndexBuilder indexBuilder = new IndexBuilder(path.toString(), config)) {
+            for (final DocumentModel documentModel : documentModels) {
+                indexBuilder.addDocuments(documentModel.toLuceneDocument());
+            }
+        }
+        try (IndexSearcher searcher = new IndexSearcher(path.toString())) {
+            assertThat(searcher.count(QUERY), equalTo(indexSearcher.count(QUERY)));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testHeapCopyIsReadOnly() throws IOException {
+        final IndexBuilderConfig config = IndexBuilderConfig.builder().directoryType(DirectoryType.RAM).build();
+        new IndexBuilder(Files.createTempDirectory("ram_idx").toString(), config).close();
+    }
+}
@@ -0,0 +1,55 @@
+package org.trofiv.labs.search;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.trofiv.labs.search.document.DocumentModel;
+import org.trofiv.labs.search.service.DocumentLoader;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+public class DocumentLoaderTest {
+    private static final String INDEX_DATA_LOCATION = "product_data.json";
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static List<String> expectedIds;
+
+    @BeforeClass
+    public static void setUp() throws IOException {
+        try (final InputStream stream = ClassLoader.getSystemResourceAsStream(INDEX_DATA_LOCATION)) {
+            expectedIds = DocumentLoader.loadDocuments(stream).stream()
+                    .map(DocumentModel::getId)
+                    .collect(Collectors.toList());
+        }
+    }
+
+    @Test
+    public void testStreamJsonArray() throws IOException {
+        try (final InputStream stream = ClassLoader.getSystemResourceAsStream(INDEX_DATA_LOCATION);
+             final Stream<DocumentModel> docs = DocumentLoader.streamDocuments(stream)) {
+            assertThat(docs.map(DocumentModel::getId).collect(Collectors.toList()), equalTo(expectedIds));
+        }
+    }
+
+    @Test
+    public void testStreamNdJson() throws IOException {
+        final StringBuilder ndJson = new StringBuilder();
+        try (final InputStream stream = ClassLoader.getSystemResourceAsStream(INDEX_DATA_LOCATION)) {
+            for (final DocumentModel doc : DocumentLoader.loadDocuments(stream)) {
+                ndJson.append(OBJECT_MAPPER.writeValueAsString(doc)).append('\n');
+            }
+        }
+        try (final InputStream stream = new ByteArrayInputStream(ndJson.toString().getBytes(StandardCharsets.UTF_8));
+             final Stream<DocumentModel> docs = DocumentLoader.streamDocuments(stream)) {
+            assertThat(docs.map(DocumentModel::getId).collect(Collectors.toList()), equalTo(expectedIds));
+        }
+    }
+}
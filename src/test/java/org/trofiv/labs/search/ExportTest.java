@@ -0,0 +1,78 @@
+package org.trofiv.labs.search;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.TermQuery;
+import org.junit.Test;
+import org.trofiv.labs.search.service.CatalogFormat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+import static org.trofiv.labs.search.util.DocumentUtils.toDocumentIds;
+
+public class ExportTest extends BaseSearchTest {
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    @Test
+    public void testFormatsExportEveryMatch() throws IOException {
+        final Query query = new TermQuery(new Term("color", "black"));
+        final Set<String> expected = toDocumentIds(indexSearcher.search(query));
+        for (final CatalogFormat format : CatalogFormat.values()) {
+            final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+            final long exported = indexSearcher.export(query, Collections.emptySet(), stream, format);
+            final List<JsonNode> documents = read(stream.toByteArray(), format);
+            assertThat(exported, equalTo((long) indexSearcher.count(query)));
+            assertThat((long) documents.size(), equalTo(exported));
+            assertThat(documents.stream().map(i -> i.get("skuId").asText()).collect(Collectors.toSet()),
+                    equalTo(expected));
+        }
+    }
+
+    @Test
+    public void testProjectedExport() throws IOException {
+        final Query query = new TermQuery(new Term("scope", "product"));
+        final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        indexSearcher.export(query, Collections.singleton("id"), stream, CatalogFormat.NDJSON);
+        final List<JsonNode> documents = read(stream.toByteArray(), CatalogFormat.NDJSON);
+        assertThat(documents.size(), equalTo(indexSearcher.count(query)));
+        for (final JsonNode document : documents) {
+            assertThat(document.size(), equalTo(1));
+        }
+        assertThat(documents.stream().map(i -> i.get("id").asText()).collect(Collectors.toSet()),
+                equalTo(toDocumentIds(indexSearcher.search(query))));
+    }
+
+    @Test
+    public void testEmptyExport() {
+        final Query query = new TermQuery(new Term("color", "no-such-color"));
+        for (final CatalogFormat format : CatalogFormat.values()) {
+            final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+            assertThat(indexSearcher.export(query, Collections.emptySet(), stream, format), equalTo(0L));
+            assertThat(new String(stream.toByteArray(), StandardCharsets.UTF_8),
+                    equalTo(format == CatalogFormat.JSON_ARRAY ? "[]" : ""));
+        }
+    }
+
+    private static List<JsonNode> read(final byte[] json, final CatalogFormat format) throws IOException {
+        final List<JsonNode> documents = new ArrayList<>();
+        if (format == CatalogFormat.JSON_ARRAY) {
+            OBJECT_MAPPER.readTree(json).forEach(documents::add);
+            return documents;
+        }
+        for (final String line : new String(json, StandardCharsets.UTF_8).split("\n")) {
+            documents.add(OBJECT_MAPPER.readTree(line));
+        }
+        return documents;
+    }
+}
@@ -0,0 +1,66 @@
+package org.trofiv.labs.search;
+
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause.Occur;
+import org.apache.lucene.search.BooleanQuery.Builder;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.join.ScoreMode;
+import org.apache.lucene.search.join.ToParentBlockJoinQuery;
+import org.junit.Test;
+import org.trofiv.labs.search.document.DocumentModel;
+import org.trofiv.labs.search.document.SKUModel;
+import org.trofiv.labs.search.facet.FacetCounts;
+import org.trofiv.labs.search.index.BlockFilters;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+public class FacetTest extends BaseSearchTest {
+    @Test
+    public void testAllProductFacets() {
+        final FacetCounts facets = indexSearcher.facets(new TermQuery(new Term("scope", "product")));
+        assertFacets(facets, documentModels);
+    }
+
+    @Test
+    public void testFacetsOfProductsWithBlackSkus() {
+        final Query query = new Builder()
+                .add(new TermQuery(new Term("scope", "product")), Occur.FILTER)
+                .add(new ToParentBlockJoinQuery(new TermQuery(new Term("color", "black")),
+                        BlockFilters.PRODUCTS, ScoreMode.None), Occur.FILTER)
+                .build();
+        final List<DocumentModel> expected = documentModels.stream()
+                .filter(documentModel -> documentModel.getSku().stream()
+                        .anyMatch(skuModel -> "black".equals(skuModel.getColor())))
+                .collect(Collectors.toList());
+        final FacetCounts facets = indexSearcher.facets(query);
+        assertFacets(facets, expected);
+        assertThat(facets.get("color", "black"), equalTo(expected.size()));
+    }
+
+    private static void assertFacets(final FacetCounts facets, final List<DocumentModel> products) {
+        assertThat(facets.getProducts(), equalTo(products.size()));
+        assertThat(facets.get("brand"), equalTo(countProducts(products, DocumentModel::getBrand)));
+        assertThat(facets.get("gender"), equalTo(countProducts(products, DocumentModel::getGender)));
+        assertThat(facets.get("color"), equalTo(countSkuValues(products, SKUModel::getColor)));
+        assertThat(facets.get("size"), equalTo(countSkuValues(products, SKUModel::getSize)));
+    }
+
+    private static Map<String, Integer> countProducts(final List<DocumentModel> products,
+                                                      final Function<DocumentModel, String> value) {
+        return products.stream().collect(Collectors.groupingBy(value, Collectors.summingInt(model -> 1)));
+    }
+
+    private static Map<String, Integer> countSkuValues(final List<DocumentModel> products,
+                                                       final Function<SKUModel, String> value) {
+        return products.stream()
+                .flatMap(model -> model.getSku().stream().map(value).distinct())
+                .collect(Collectors.groupingBy(Function.identity(), Collectors.summingInt(v -> 1)));
+    }
+}
@@ -0,0 +1,124 @@
+package org.trofiv.labs.search;
+
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.IndexWriterConfig.OpenMode;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.ConstantScoreQuery;
+import org.apache.lucene.search.LRUQueryCache;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.QueryCache;
+import org.apache.lucene.search.QueryCachingPolicy;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.join.QueryBitSetProducer;
+import org.apache.lucene.search.join.ScoreMode;
+import org.apache.lucene.search.join.ToParentBlockJoinQuery;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.junit.Test;
+import org.trofiv.labs.search.document.DocumentModel;
+import org.trofiv.labs.search.document.SKUModel;
+import org.trofiv.labs.search.index.IndexBuilder;
+import org.trofiv.labs.search.index.IndexBuilderConfig;
+import org.trofiv.labs.search.index.IndexSearcher;
+import org.trofiv.labs.search.search.even.Parity;
+import org.trofiv.labs.search.search.even.ParityQuery;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.junit.Assert.assertThat;
+import static org.trofiv.labs.search.util.DocumentUtils.toDocumentIds;
+
+public class IncrementalIndexTest extends BaseSearchTest {
+    private static final int PRODUCTS = 3;
+
+    @Test
+    public void testUpsertAndDeleteProducts() throws IOException {
+        final Path path = Files.createTempDirectory("incremental_idx");
+        final List<DocumentModel> products = documentModels.subList(0, PRODUCTS);
+        try (IndexBuilder indexBuilder = new IndexBuilder(path.toString())) {
+            for (final DocumentModel product : products) {
+                indexBuilder.addDocuments(product.toLuceneDocument());
+            }
+        }
+
+        final DocumentModel original = products.get(0);
+        final SKUModel sku = original.getSku().iterator().next();
+        final SKUModel updatedSku = new SKUModel(sku.getSkuId(), sku.getSize(), "purple", sku.getPrices());
+        final DocumentModel updated = new DocumentModel(original.getId(), original.getName(), original.getGender(),
+                original.getBrand(), original.getDescription(), Collections.singleton(updatedSku));
+        final DocumentModel deleted = products.get(1);
+        final IndexBuilderConfig appendConfig = IndexBuilderConfig.builder()
+                .openMode(OpenMode.CREATE_OR_APPEND)
+                .build();
+        try (IndexBuilder indexBuilder = new IndexBuilder(path.toString(), appendConfig)) {
+            indexBuilder.upsertProduct(updated);
+            indexBuilder.deleteProduct(deleted.getId());
+        }
+
+        try (IndexSearcher searcher = new IndexSearcher(path.toString())) {
+            assertThat((long) searcher.count(new MatchAllDocsQuery()),
+                    equalTo(updated.size() + products.get(2).size()));
+            final Query purpleProducts = new ToParentBlockJoinQuery(new TermQuery(new Term("color", "purple")),
+                    new QueryBitSetProducer(new TermQuery(new Term("scope", "product"))), ScoreMode.None);
+            final Set<String> actual = toDocumentIds(searcher.search(purpleProducts));
+            assertThat(actual, contains(updated.getId()));
+            assertThat(searcher.search(new TermQuery(new Term("id", deleted.getId()))), empty());
+            //the parity filter must skip the deleted block too
+            assertThat(searcher.count(new ParityQuery(Parity.EVEN)) + searcher.count(new ParityQuery(Parity.ODD)),
+                    equalTo(searcher.count(new MatchAllDocsQuery())));
+        }
+    }
+
+    @Test
+    public void testCachedParitySurvivesDroppedSegment() throws IOException {
+        final Path path = Files.createTempDirectory("parity_cache_idx");
+        //an odd-sized first segment flips the top-level parity of every later doc once it is dropped
+        final DocumentModel first = documentModels.stream().filter(product -> product.size() % 2 == 1)
+                .findFirst().orElseThrow(IllegalStateException::new);
+        final DocumentModel second = documentModels.stream().filter(product -> product != first)
+                .findFirst().orElseThrow(IllegalStateException::new);
+        final LRUQueryCache cache = new LRUQueryCache(PRODUCTS, Long.MAX_VALUE, context -> true);
+        try (IndexBuilder indexBuilder = new IndexBuilder(path.toString());
+             Directory directory = FSDirectory.open(path)) {
+            indexBuilder.addProduct(first);
+            indexBuilder.commit();
+            indexBuilder.addProduct(second);
+            indexBuilder.commit();
+            try (DirectoryReader before = DirectoryReader.open(directory)) {
+                assertThat(before.leaves().size(), equalTo(2));
+                parityDocs(before, cache);
+                indexBuilder.deleteProduct(first.getId());
+                indexBuilder.commit();
+                try (DirectoryReader after = DirectoryReader.openIfChanged(before)) {
+                    assertThat(after.leaves().size(), equalTo(1));
+                    assertThat(cache.getCacheSize(), greaterThan(0L));
+                    assertThat(parityDocs(after, cache), equalTo(parityDocs(after, null)));
+                }
+            }
+        }
+    }
+
+    private static List<Integer> parityDocs(final IndexReader reader, final QueryCache cache) throws IOException {
+        final org.apache.lucene.search.IndexSearcher searcher = new org.apache.lucene.search.IndexSearcher(reader);
+        searcher.setQueryCache(cache);
+        searcher.setQueryCachingPolicy(QueryCachingPolicy.ALWAYS_CACHE);
+        //constant score wraps the filter in a non-scoring weight, which is what the cache keeps
+        final TopDocs topDocs = searcher.search(new ConstantScoreQuery(new ParityQuery(Parity.EVEN)),
+                reader.maxDoc());
+        return Arrays.stream(topDocs.scoreDocs).map(hit -> hit.doc).sorted().collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,121 @@
+package org.trofiv.labs.search;
+
+import org.apache.lucene.document.Document;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.join.ScoreMode;
+import org.apache.lucene.search.join.ToParentBlockJoinQuery;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.trofiv.labs.search.document.DocumentModel;
+import org.trofiv.labs.search.document.PriceInfoModel;
+import org.trofiv.labs.search.index.BlockFilters;
+import org.trofiv.labs.search.index.BlockHit;
+import org.trofiv.labs.search.index.IndexBuilder;
+import org.trofiv.labs.search.index.IndexBuilderConfig;
+import org.trofiv.labs.search.index.IndexSearcher;
+import org.trofiv.labs.search.index.SearchPage;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertThat;
+import static org.trofiv.labs.search.util.DocumentUtils.toDocumentIds;
+
+@SuppressWarnings("MagicNumber")
+public class IndexSortTest extends BaseSearchTest {
+    private static final int PRODUCTS_PER_COMMIT = 100;
+    private static final int PAGE_SIZE = 30;
+    private static final Query PRODUCTS = new TermQuery(new Term("scope", "product"));
+    private static IndexSearcher sortedSearcher;
+
+    @BeforeClass
+    public static void setUpSortedIndex() throws IOException {
+        final Path path = Files.createTempDirectory("sorted_idx");
+        final IndexBuilderConfig config = IndexBuilderConfig.builder().sortByBlockPrice(true).build();
+        try (IndexBuilder indexBuilder = new IndexBuilder(path.toString(), config)) {
+            for (int i = 0; i < documentModels.size(); i++) {
+                indexBuilder.addDocuments(documentModels.get(i).toLuceneDocument());
+                //several sorted segments, so that early termination happens per segment
+                if ((i + 1) % PRODUCTS_PER_COMMIT == 0) {
+                    indexBuilder.commit();
+                }
+            }
+        }
+        sortedSearcher = new IndexSearcher(path.toString());
+    }
+
+    @AfterClass
+    public static void tearDownSortedIndex() throws IOException {
+        sortedSearcher.close();
+    }
+
+    @Test
+    public void testBlocksSurviveIndexSort() {
+        final Query blackProducts = new ToParentBlockJoinQuery(new TermQuery(new Term("color", "black")),
+                BlockFilters.PRODUCTS, ScoreMode.None);
+        assertThat(toDocumentIds(sortedSearcher.search(blackProducts)),
+                equalTo(toDocumentIds(indexSearcher.search(blackProducts))));
+        final Map<String, DocumentModel> products = documentModels.stream()
+                .collect(Collectors.toMap(DocumentModel::getId, product -> product));
+        for (final BlockHit hit : sortedSearcher.blockSearch(new TermQuery(new Term("color", "black")), 10000)) {
+            final String skuId = hit.getSku().get("skuId");
+            assertThat(products.get(hit.getProduct().get("id")).getSku().stream()
+                    .anyMatch(sku -> sku.getSkuId().equals(skuId)), equalTo(true));
+        }
+    }
+
+    @Test
+    public void testBrowseByPrice() {
+        final List<Float> expected = documentModels.stream()
+                .map(IndexSortTest::minPrice)
+                .sorted()
+                .collect(Collectors.toList());
+        for (final IndexSearcher searcher : new IndexSearcher[]{sortedSearcher, indexSearcher}) {
+            final List<Document> browsed = new ArrayList<>();
+            SearchPage page = searcher.browseByPrice(PRODUCTS, PAGE_SIZE);
+            browsed.addAll(page.getDocuments());
+            while (page.hasNext()) {
+                page = searcher.browseByPriceAfter(PRODUCTS, page.getCursor(), PAGE_SIZE);
+                browsed.addAll(page.getDocuments());
+            }
+            assertThat(browsed.stream().map(doc -> minPrice(doc.get("id"))).collect(Collectors.toList()),
+                    equalTo(expected));
+        }
+    }
+
+    @Test
+    public void testBrowseStopsEarlyOnSortedSegments() {
+        final SearchPage sorted = sortedSearcher.browseByPrice(PRODUCTS, PAGE_SIZE);
+        final SearchPage unsorted = indexSearcher.browseByPrice(PRODUCTS, PAGE_SIZE);
+        assertThat(unsorted.getTotalHits(), equalTo(documentModels.size()));
+        assertThat(sorted.getTotalHits(), lessThan(documentModels.size()));
+        assertThat(minPrice(sorted.getDocuments().get(PAGE_SIZE - 1).get("id")),
+                equalTo(minPrice(unsorted.getDocuments().get(PAGE_SIZE - 1).get("id"))));
+    }
+
+    private static float minPrice(final String productId) {
+        return documentModels.stream()
+                .filter(product -> product.getId().equals(productId))
+                .findFirst()
+                .map(IndexSortTest::minPrice)
+                .orElseThrow(() -> new AssertionError("Unknown product " + productId));
+    }
+
+    private static float minPrice(final DocumentModel product) {
+        return (float) product.getSku().stream()
+                .flatMap(sku -> sku.getPrices().stream())
+                .mapToDouble(PriceInfoModel::getPrice)
+                .min()
+                .orElse(Float.POSITIVE_INFINITY);
+    }
+}
@@ -0,0 +1,121 @@
+package org.trofiv.labs.search;
+
+import org.apache.lucene.index.IndexWriterConfig.OpenMode;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.ConstantScoreQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.WildcardQuery;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.trofiv.labs.search.document.DocumentModel;
+import org.trofiv.labs.search.index.IndexBuilder;
+import org.trofiv.labs.search.index.IndexBuilderConfig;
+import org.trofiv.labs.search.index.IndexSearcher;
+import org.trofiv.labs.search.search.ngram.NGramWildcardQuery;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import static org.trofiv.labs.search.util.DocumentUtils.toDocumentIds;
+
+public class NGramTest extends BaseSearchTest {
+    private static IndexSearcher ngramSearcher;
+
+    @BeforeClass
+    public static void setUpNGramIndex() throws IOException {
+        final Path path = Files.createTempDirectory("ngram_idx");
+        final IndexBuilderConfig config = IndexBuilderConfig.builder().ngramSubfields(true).build();
+        try (IndexBuilder indexBuilder = new IndexBuilder(path.toString(), config)) {
+            for (final DocumentModel product : documentModels) {
+                indexBuilder.addProduct(product);
+            }
+        }
+        ngramSearcher = new IndexSearcher(path.toString());
+    }
+
+    @AfterClass
+    public static void tearDownNGramIndex() throws IOException {
+        ngramSearcher.close();
+    }
+
+    @Test
+    public void testMatchesWildcardQuery() {
+        final String[][] patterns = {
+                {"description", "i*"}, {"description", "incid*"}, {"description", "incididunt*"},
+                {"description", "incididuntxyz*"}, {"description", "*re*"}, {"description", "*dunt*"},
+                {"description", "*in*"}, {"description", "*incididunt*"}, {"description", "in?id*"},
+                {"description", "*dunt"}, {"description", "zzz*"}, {"name", "d*"}, {"name", "*ee*"}
+        };
+        for (final String[] pattern : patterns) {
+            final Term term = new Term(pattern[0], pattern[1]);
+            assertThat(pattern[1], toDocumentIds(ngramSearcher.search(new NGramWildcardQuery(term))),
+                    equalTo(toDocumentIds(indexSearcher.search(new WildcardQuery(term)))));
+        }
+    }
+
+    @Test
+    public void testRewritesOnlyWhenExact() throws IOException {
+        assertThat(rewrite(ngramSearcher, "incid*"), instanceOf(ConstantScoreQuery.class));
+        assertThat(rewrite(ngramSearcher, "*dunt*"), instanceOf(ConstantScoreQuery.class));
+        assertThat(rewrite(ngramSearcher, "*incididunt*"), instanceOf(WildcardQuery.class));
+        assertThat(rewrite(ngramSearcher, "in?id*"), instanceOf(WildcardQuery.class));
+        assertThat(rewrite(ngramSearcher, "*dunt"), instanceOf(WildcardQuery.class));
+        //no subfields in the shared index, so the gram lookup would miss everything
+        assertThat(rewrite(indexSearcher, "incid*"), instanceOf(WildcardQuery.class));
+    }
+
+    @Test
+    public void testAppendKeepsGramSetting() throws IOException {
+        final Path path = Files.createTempDirectory("ngram_append_idx");
+        final IndexBuilderConfig ngram = IndexBuilderConfig.builder().ngramSubfields(true).build();
+        try (IndexBuilder indexBuilder = new IndexBuilder(path.toString(), ngram)) {
+            indexBuilder.addProduct(documentModels.get(0));
+        }
+        final IndexBuilderConfig plainAppend = IndexBuilderConfig.builder()
+                .openMode(OpenMode.CREATE_OR_APPEND)
+                .build();
+        try {
+            new IndexBuilder(path.toString(), plainAppend).close();
+            fail("Plain blocks must not be appended to an n-gram index");
+        } catch (IllegalArgumentException expected) {
+            //the rejected builder must not keep the write lock
+        }
+        final IndexBuilderConfig ngramAppend = IndexBuilderConfig.builder()
+                .openMode(OpenMode.CREATE_OR_APPEND)
+                .ngramSubfields(true)
+                .build();
+        try (IndexBuilder indexBuilder = new IndexBuilder(path.toString(), ngramAppend)) {
+            indexBuilder.addProduct(documentModels.get(1));
+        }
+        try (IndexSearcher searcher = new IndexSearcher(path.toString())) {
+            final Term term = new Term("description", "*re*");
+            assertThat(toDocumentIds(searcher.search(new NGramWildcardQuery(term))),
+                    equalTo(toDocumentIds(searcher.search(new WildcardQuery(term)))));
+        }
+
+        //and the other way round, grams can't be added to an index built without them
+        final Path plain = Files.createTempDirectory("plain_append_idx");
+        new IndexBuilder(plain.toString()).close();
+        try {
+            new IndexBuilder(plain.toString(), ngramAppend).close();
+            fail("N-gram blocks must not be appended to a plain index");
+        } catch (IllegalArgumentException expected) {
+            //the stored setting wins
+        }
+    }
+
+    private static Query rewrite(final IndexSearcher searcher, final String pattern) throws IOException {
+        final org.apache.lucene.search.IndexSearcher acquired = searcher.acquire();
+        try {
+            return new NGramWildcardQuery(new Term("description", pattern)).rewrite(acquired.getIndexReader());
+        } finally {
+            searcher.release(acquired);
+        }
+    }
+}
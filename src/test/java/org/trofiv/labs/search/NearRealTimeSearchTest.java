@@ -0,0 +1,52 @@
+package org.trofiv.labs.search;
+
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.TermQuery;
+import org.junit.Test;
+import org.trofiv.labs.search.document.DocumentModel;
+import org.trofiv.labs.search.index.IndexBuilder;
+import org.trofiv.labs.search.index.IndexSearcher;
+import org.trofiv.labs.search.index.IndexSearcherConfig;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+public class NearRealTimeSearchTest extends BaseSearchTest {
+    private static final long MAX_STALENESS_MS = 10;
+    private static final long WAIT_TIMEOUT_MS = TimeUnit.SECONDS.toMillis(5);
+
+    @Test
+    public void testWriterChangesBecomeVisible() throws IOException, InterruptedException {
+        final Path path = Files.createTempDirectory("nrt_idx");
+        final DocumentModel first = documentModels.get(0);
+        final DocumentModel second = documentModels.get(1);
+        final IndexSearcherConfig config = IndexSearcherConfig.builder().maxStalenessMs(MAX_STALENESS_MS).build();
+        try (IndexBuilder indexBuilder = new IndexBuilder(path.toString());
+             IndexSearcher searcher = new IndexSearcher(indexBuilder, config)) {
+            assertThat(searcher.count(new MatchAllDocsQuery()), equalTo(0));
+
+            indexBuilder.addDocuments(first.toLuceneDocument());
+            awaitCount(searcher, first.size());
+
+            indexBuilder.addDocuments(second.toLuceneDocument());
+            indexBuilder.deleteProduct(first.getId());
+            searcher.refresh();
+            assertThat((long) searcher.count(new MatchAllDocsQuery()), equalTo(second.size()));
+            assertThat(searcher.count(new TermQuery(new Term("id", first.getId()))), equalTo(0));
+        }
+    }
+
+    private static void awaitCount(final IndexSearcher searcher, final long expected) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + WAIT_TIMEOUT_MS;
+        while (searcher.count(new MatchAllDocsQuery()) != expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(MAX_STALENESS_MS);
+        }
+        assertThat((long) searcher.count(new MatchAllDocsQuery()), equalTo(expected));
+    }
+}
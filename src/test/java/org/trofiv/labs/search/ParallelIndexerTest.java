@@ -0,0 +1,84 @@
+package org.trofiv.labs.search;
+
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.WildcardQuery;
+import org.apache.lucene.search.join.QueryBitSetProducer;
+import org.apache.lucene.search.join.ScoreMode;
+import org.apache.lucene.search.join.ToParentBlockJoinQuery;
+import org.junit.Test;
+import org.trofiv.labs.search.document.DocumentModel;
+import org.trofiv.labs.search.index.IndexBuilder;
+import org.trofiv.labs.search.index.IndexBuilderConfig;
+import org.trofiv.labs.search.index.IndexSearcher;
+import org.trofiv.labs.search.index.IndexSearcherConfig;
+import org.trofiv.labs.search.index.IndexingStats;
+import org.trofiv.labs.search.index.ParallelIndexer;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.trofiv.labs.search.util.DocumentUtils.areEqual;
+import static org.trofiv.labs.search.util.DocumentUtils.toDocumentIds;
+
+public class ParallelIndexerTest extends BaseSearchTest {
+    private static final int WORKERS = 4;
+    private static final int QUEUE_CAPACITY = 16;
+    private static final double RAM_BUFFER_MB = 1;
+
+    private static final int MAX_DOCS_PER_SLICE = 1000;
+    private static final int PAGE_SIZE = 50;
+
+    @Test
+    public void testParallelIndexingKeepsBlocks() throws IOException {
+        final Path parallelIndexPath = Files.createTempDirectory("parallel_idx");
+        final IndexingStats stats = buildIndex(parallelIndexPath);
+        final long expectedDocuments = documentModels.stream().mapToLong(DocumentModel::size).sum();
+        assertThat(stats.getProducts(), equalTo((long) documentModels.size()));
+        assertThat(stats.getDocuments(), equalTo(expectedDocuments));
+
+        try (IndexSearcher parallelSearcher = new IndexSearcher(parallelIndexPath.toString())) {
+            assertThat((long) parallelSearcher.count(new MatchAllDocsQuery()), equalTo(expectedDocuments));
+            final Query parentQuery = new ToParentBlockJoinQuery(new TermQuery(new Term("color", "black")),
+                    new QueryBitSetProducer(new TermQuery(new Term("scope", "product"))), ScoreMode.None);
+            final Set<String> expected = documentModels.stream()
+                    .filter(documentModel -> documentModel.getSku().stream()
+                            .anyMatch(skuModel -> "black".equals(skuModel.getColor())))
+                    .map(DocumentModel::getId)
+                    .collect(Collectors.toSet());
+            assertThat(toDocumentIds(parallelSearcher.search(parentQuery)), equalTo(expected));
+        }
+    }
+
+    @Test
+    public void testSlicedSearchMatchesSequential() throws IOException {
+        final Path parallelIndexPath = Files.createTempDirectory("sliced_idx");
+        buildIndex(parallelIndexPath);
+        final IndexSearcherConfig config = IndexSearcherConfig.builder()
+                .searchThreads(WORKERS)
+                .maxDocsPerSlice(MAX_DOCS_PER_SLICE)
+                .build();
+        final Query query = new WildcardQuery(new Term("description", "*cid*"));
+        try (IndexSearcher sequential = new IndexSearcher(parallelIndexPath.toString());
+             IndexSearcher sliced = new IndexSearcher(parallelIndexPath.toString(), config)) {
+            assertThat(sliced.count(query), equalTo(sequential.count(query)));
+            assertTrue(areEqual(sliced.search(query, PAGE_SIZE).getDocuments(),
+                    sequential.search(query, PAGE_SIZE).getDocuments()));
+        }
+    }
+
+    private static IndexingStats buildIndex(final Path path) throws IOException {
+        final IndexBuilderConfig config = IndexBuilderConfig.builder().ramBufferSizeMB(RAM_BUFFER_MB).build();
+        try (IndexBuilder indexBuilder = new IndexBuilder(path.toString(), config)) {
+            return new ParallelIndexer(indexBuilder, WORKERS, QUEUE_CAPACITY).index(documentModels.iterator());
+        }
+    }
+}
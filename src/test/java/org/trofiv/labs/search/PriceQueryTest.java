@@ -0,0 +1,71 @@
+package org.trofiv.labs.search;
+
+import org.apache.lucene.search.Query;
+import org.junit.Test;
+import org.trofiv.labs.search.document.DocumentModel;
+import org.trofiv.labs.search.document.PriceInfoModel;
+import org.trofiv.labs.search.document.SKUModel;
+import org.trofiv.labs.search.search.price.PriceQueries;
+
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+import static org.trofiv.labs.search.util.DocumentUtils.toDocumentIds;
+
+@SuppressWarnings("MagicNumber")
+public class PriceQueryTest extends BaseSearchTest {
+    @Test
+    public void testProductsUnderPriceCap() {
+        assertProducts(PriceQueries.productsWithPriceIn(Float.NEGATIVE_INFINITY, 100.0f),
+                sku -> sku.getPrices().stream().anyMatch(price -> price.getPrice() <= 100.0f));
+    }
+
+    @Test
+    public void testProductsOverPriceFloor() {
+        assertProducts(PriceQueries.productsWithPriceIn(9900.0f, Float.POSITIVE_INFINITY),
+                sku -> sku.getPrices().stream().anyMatch(price -> price.getPrice() >= 9900.0f));
+    }
+
+    @Test
+    public void testProductsWithPriceInRange() {
+        assertProducts(PriceQueries.productsWithPriceIn(100.0f, 200.0f),
+                sku -> sku.getPrices().stream().anyMatch(price -> price.getPrice() >= 100.0f
+                        && price.getPrice() <= 200.0f));
+    }
+
+    @Test
+    public void testProductsWithAllPricesInRange() {
+        final Query query = PriceQueries.productsWithAllPricesIn(0.0f, 9000.0f);
+        final Set<String> expected = documentModels.stream()
+                .filter(documentModel -> documentModel.getSku().stream()
+                        .flatMap(sku -> sku.getPrices().stream())
+                        .allMatch(price -> price.getPrice() <= 9000.0f))
+                .map(DocumentModel::getId)
+                .collect(Collectors.toSet());
+        assertThat(toDocumentIds(indexSearcher.search(query)), equalTo(expected));
+    }
+
+    @Test
+    public void testSkusWithPriceInRange() {
+        final Query query = PriceQueries.skusWithPriceIn(100.0f, 200.0f);
+        final Set<String> expected = documentModels.stream()
+                .flatMap(documentModel -> documentModel.getSku().stream())
+                .filter(sku -> sku.getPrices().stream()
+                        .map(PriceInfoModel::getPrice)
+                        .anyMatch(price -> price >= 100.0f && price <= 200.0f))
+                .map(SKUModel::getSkuId)
+                .collect(Collectors.toSet());
+        assertThat(toDocumentIds(indexSearcher.search(query)), equalTo(expected));
+    }
+
+    private static void assertProducts(final Query query, final Predicate<SKUModel> skuFilter) {
+        final Set<String> expected = documentModels.stream()
+                .filter(documentModel -> documentModel.getSku().stream().anyMatch(skuFilter))
+                .map(DocumentModel::getId)
+                .collect(Collectors.toSet());
+        assertThat(toDocumentIds(indexSearcher.search(query)), equalTo(expected));
+    }
+}
@@ -0,0 +1,94 @@
+package org.trofiv.labs.search;
+
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause.Occur;
+import org.apache.lucene.search.BooleanQuery.Builder;
+import org.apache.lucene.search.Explanation;
+import org.apache.lucene.search.FuzzyQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.join.ScoreMode;
+import org.apache.lucene.search.join.ToParentBlockJoinQuery;
+import org.apache.lucene.search.spans.SpanNearQuery;
+import org.apache.lucene.search.spans.SpanQuery;
+import org.apache.lucene.search.spans.SpanTermQuery;
+import org.junit.Test;
+import org.trofiv.labs.search.index.BlockFilters;
+import org.trofiv.labs.search.index.IndexSearcher;
+import org.trofiv.labs.search.index.ProfiledSearch;
+import org.trofiv.labs.search.index.SearchPage;
+import org.trofiv.labs.search.profile.ProfileTiming;
+import org.trofiv.labs.search.profile.QueryProfile;
+import org.trofiv.labs.search.search.even.Parity;
+import org.trofiv.labs.search.search.even.ParityQuery;
+import org.trofiv.labs.search.search.random.RandomizedCustomScoreQuery;
+import org.trofiv.labs.search.search.random.RandomizedScoreQuery;
+
+import java.io.IOException;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+@SuppressWarnings("MagicNumber")
+public class ProfileTest extends BaseSearchTest {
+    @Test
+    public void testProfileTreeFollowsQuery() {
+        final Query query = new Builder()
+                .add(new SpanNearQuery(new SpanQuery[]{
+                        new SpanTermQuery(new Term("description", "commodo")),
+                        new SpanTermQuery(new Term("description", "nulla"))}, 3, false), Occur.SHOULD)
+                .add(new FuzzyQuery(new Term("description", "incididunt")), Occur.SHOULD)
+                .add(new ToParentBlockJoinQuery(new TermQuery(new Term("color", "black")),
+                        BlockFilters.PRODUCTS, ScoreMode.Max), Occur.SHOULD)
+                .build();
+        final ProfiledSearch profiled = indexSearcher.profile(query, 20);
+        final SearchPage expected = indexSearcher.search(query, 20);
+        assertThat(profiled.getPage().getTotalHits(), equalTo(expected.getTotalHits()));
+        assertThat(profiled.getPage().getDocuments().size(), equalTo(expected.getDocuments().size()));
+
+        final QueryProfile root = profiled.getProfile();
+        assertThat(root.getType(), equalTo("BooleanQuery"));
+        assertThat(root.getChildren().size(), equalTo(3));
+        assertThat(root.getCounts().get(ProfileTiming.CREATE_WEIGHT), equalTo(1L));
+        assertThat(root.getCounts().get(ProfileTiming.NEXT_DOC), greaterThan(0L));
+        assertThat(root.getCounts().get(ProfileTiming.SCORE), greaterThan(0L));
+        assertThat(root.getTotalNanos(), greaterThan(0L));
+        assertThat(profiled.getTotalNanos(), greaterThan(0L));
+        for (final QueryProfile child : root.getChildren()) {
+            assertThat(child.getCounts().get(ProfileTiming.BUILD_SCORER), greaterThan(0L));
+        }
+    }
+
+    @Test
+    public void testProfilingIsNotRecordedInMetrics() throws IOException {
+        try (IndexSearcher searcher = new IndexSearcher(indexPath.toString())) {
+            searcher.profile(new TermQuery(new Term("color", "black")), 10);
+            assertThat(searcher.getMetrics().snapshot().getQueries().isEmpty(), is(true));
+        }
+    }
+
+    @Test
+    public void testCustomQueriesExplainTheirScores() throws IOException {
+        final Query products = new TermQuery(new Term("scope", "product"));
+        final Query[] queries = {
+                new RandomizedScoreQuery(7),
+                new RandomizedCustomScoreQuery(products, 7),
+                new ParityQuery(Parity.ODD)
+        };
+        final org.apache.lucene.search.IndexSearcher searcher = indexSearcher.acquire();
+        try {
+            for (final Query query : queries) {
+                for (final ScoreDoc hit : searcher.search(query, 20).scoreDocs) {
+                    final Explanation explanation = searcher.explain(query, hit.doc);
+                    assertThat(explanation.isMatch(), is(true));
+                    assertThat(explanation.getValue(), equalTo(hit.score));
+                }
+            }
+        } finally {
+            indexSearcher.release(searcher);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package org.trofiv.labs.search;
+
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.TermQuery;
+import org.junit.Test;
+import org.trofiv.labs.search.index.IndexSearcher;
+import org.trofiv.labs.search.index.IndexSearcherConfig;
+import org.trofiv.labs.search.index.QueryCacheStats;
+import org.trofiv.labs.search.index.SearchPage;
+import org.trofiv.labs.search.search.even.EvenQuery;
+import org.trofiv.labs.search.search.random.RandomizedScoreQuery;
+import org.trofiv.labs.search.search.random.RandomizedSimilarity;
+
+import java.io.IOException;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.trofiv.labs.search.util.DocumentUtils.areEqual;
+
+public class QueryCacheTest extends BaseSearchTest {
+    private static final int PAGE_SIZE = 10;
+    private static final int MAX_ENTRIES = 2;
+
+    @Test
+    public void testCustomQueryIdentity() {
+        assertThat(new EvenQuery(), equalTo(new EvenQuery()));
+        assertThat(new EvenQuery().hashCode(), equalTo(new EvenQuery().hashCode()));
+        assertThat(new RandomizedScoreQuery(), equalTo(new RandomizedScoreQuery()));
+        assertThat(new EvenQuery(), not(equalTo((Query) new RandomizedScoreQuery())));
+    }
+
+    @Test
+    public void testRepeatedPagesAreServedFromCache() throws IOException {
+        final IndexSearcherConfig config = IndexSearcherConfig.builder().queryCacheMaxEntries(MAX_ENTRIES).build();
+        try (IndexSearcher cachingSearcher = new IndexSearcher(indexPath.toString(), config)) {
+            final Query black = new TermQuery(new Term("color", "black"));
+            final SearchPage first = cachingSearcher.search(black, PAGE_SIZE);
+            final SearchPage second = cachingSearcher.search(new TermQuery(new Term("color", "black")), PAGE_SIZE);
+            assertTrue(areEqual(first.getDocuments(), second.getDocuments()));
+            assertCacheStats(cachingSearcher.getQueryCacheStats(), 1, 1, 0, 1);
+
+            cachingSearcher.search(new EvenQuery(), PAGE_SIZE);
+            cachingSearcher.search(new RandomizedScoreQuery(), PAGE_SIZE);
+            cachingSearcher.searchAfter(black, first.getCursor(), PAGE_SIZE);
+            assertCacheStats(cachingSearcher.getQueryCacheStats(), 1, 4, 2, MAX_ENTRIES);
+        }
+    }
+
+    @Test
+    public void testSimilarityChangeBypassesCachedPages() throws IOException {
+        final IndexSearcherConfig config = IndexSearcherConfig.builder().queryCacheMaxEntries(MAX_ENTRIES).build();
+        try (IndexSearcher cachingSearcher = new IndexSearcher(indexPath.toString(), config);
+             IndexSearcher expectedSearcher = new IndexSearcher(indexPath.toString())) {
+            final Query products = new TermQuery(new Term("scope", "product"));
+            cachingSearcher.search(products, PAGE_SIZE);
+            cachingSearcher.setSimilarity(new RandomizedSimilarity(7));
+            assertCacheStats(cachingSearcher.getQueryCacheStats(), 0, 1, 0, 0);
+
+            expectedSearcher.setSimilarity(new RandomizedSimilarity(7));
+            final SearchPage expected = expectedSearcher.search(products, PAGE_SIZE);
+            assertTrue(areEqual(cachingSearcher.search(products, PAGE_SIZE).getDocuments(), expected.getDocuments()));
+            assertCacheStats(cachingSearcher.getQueryCacheStats(), 0, 2, 0, 1);
+        }
+    }
+
+    private static void assertCacheStats(final QueryCacheStats stats,
+                                         final long hits,
+                                         final long misses,
+                                         final long evictions,
+                                         final int entries) {
+        assertThat(stats.getHits(), equalTo(hits));
+        assertThat(stats.getMisses(), equalTo(misses));
+        assertThat(stats.getEvictions(), equalTo(evictions));
+        assertThat(stats.getEntries(), equalTo(entries));
+    }
+}
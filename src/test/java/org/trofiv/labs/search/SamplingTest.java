@@ -0,0 +1,94 @@
+package org.trofiv.labs.search;
+
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.TermQuery;
+import org.junit.Test;
+import org.trofiv.labs.search.document.DocumentModel;
+import org.trofiv.labs.search.index.Hit;
+import org.trofiv.labs.search.index.Sample;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.isIn;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.not;
+import static org.junit.Assert.assertThat;
+
+@SuppressWarnings("MagicNumber")
+public class SamplingTest extends BaseSearchTest {
+    private static final Set<String> ID_FIELDS = Collections.singleton("id");
+    private static final Query PRODUCTS = new TermQuery(new Term("scope", "product"));
+
+    @Test
+    public void testSampleIsReproducible() {
+        for (final Query filter : new Query[]{new MatchAllDocsQuery(), PRODUCTS}) {
+            final List<Integer> first = docs(indexSearcher.sample(filter, 20, 1, ID_FIELDS));
+            assertThat(first.size(), equalTo(20));
+            assertThat(first.stream().distinct().count(), equalTo(20L));
+            assertThat(docs(indexSearcher.sample(filter, 20, 1, ID_FIELDS)), equalTo(first));
+            assertThat(docs(indexSearcher.sample(filter, 20, 2, ID_FIELDS)), not(equalTo(first)));
+        }
+    }
+
+    @Test
+    public void testSampleHonorsFilter() {
+        final Sample sample = indexSearcher.sample(PRODUCTS, 50, 3, ID_FIELDS);
+        final Set<String> productIds = documentModels.stream().map(DocumentModel::getId).collect(Collectors.toSet());
+        assertThat(sample.getTotalHits(), equalTo((long) documentModels.size()));
+        assertThat(sample.getHits().stream().map(hit -> hit.get("id")).collect(Collectors.toList()),
+                everyItem(isIn(productIds)));
+    }
+
+    @Test
+    public void testSampleLargerThanMatches() {
+        final Query filter = new TermQuery(new Term("id", documentModels.get(0).getId()));
+        final Sample sample = indexSearcher.sample(filter, 10, 4, ID_FIELDS);
+        assertThat(sample.getTotalHits(), equalTo(1L));
+        assertThat(sample.getHits().get(0).get("id"), equalTo(documentModels.get(0).getId()));
+        assertThat((long) indexSearcher.sample(new MatchAllDocsQuery(), Integer.MAX_VALUE, 4, ID_FIELDS)
+                .getHits().size(), equalTo((long) indexSearcher.count(new MatchAllDocsQuery())));
+    }
+
+    @Test
+    public void testSampleIsUniform() {
+        final int samples = 2000;
+        final int k = 5;
+        final Map<String, Integer> counts = new HashMap<>();
+        for (int seed = 0; seed < samples; seed++) {
+            indexSearcher.sample(PRODUCTS, k, seed, ID_FIELDS).getHits()
+                    .forEach(hit -> counts.merge(hit.get("id"), 1, Integer::sum));
+        }
+        //each product is expected 10 times, a fair sampler keeps every count well inside [1, 30]
+        assertThat(counts.size(), equalTo(documentModels.size()));
+        assertThat(counts.values(), everyItem(lessThan(30)));
+        final int firstHalf = documentModels.subList(0, documentModels.size() / 2).stream()
+                .mapToInt(product -> counts.get(product.getId()))
+                .sum();
+        assertThat(firstHalf, greaterThan(samples * k / 2 * 9 / 10));
+        assertThat(firstHalf, lessThan(samples * k / 2 * 11 / 10));
+
+        //the match-all path skips docs instead of collecting them and must stay just as fair
+        final int allDocs = indexSearcher.count(new MatchAllDocsQuery());
+        final double meanDoc = IntStream.range(0, samples)
+                .flatMap(seed -> docs(indexSearcher.sample(new MatchAllDocsQuery(), k, seed, ID_FIELDS)).stream()
+                        .mapToInt(Integer::intValue))
+                .average()
+                .orElse(0);
+        assertThat(Math.abs(meanDoc - allDocs / 2.0), lessThan(allDocs * 0.02));
+    }
+
+    private static List<Integer> docs(final Sample sample) {
+        return sample.getHits().stream().map(Hit::getDoc).collect(Collectors.toList());
+    }
+}
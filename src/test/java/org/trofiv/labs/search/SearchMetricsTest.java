@@ -0,0 +1,163 @@
+package org.trofiv.labs.search;
+
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.TermQuery;
+import org.junit.Test;
+import org.trofiv.labs.search.index.Hit;
+import org.trofiv.labs.search.index.IndexSearcher;
+import org.trofiv.labs.search.index.IndexSearcherConfig;
+import org.trofiv.labs.search.index.SearchPage;
+import org.trofiv.labs.search.metrics.LatencyHistogram;
+import org.trofiv.labs.search.metrics.LatencySnapshot;
+import org.trofiv.labs.search.metrics.QueryMetricsSnapshot;
+import org.trofiv.labs.search.metrics.SearchMetrics;
+import org.trofiv.labs.search.metrics.SearchMetricsSnapshot;
+import org.trofiv.labs.search.service.CatalogFormat;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+@SuppressWarnings("MagicNumber")
+public class SearchMetricsTest extends BaseSearchTest {
+    private static final String JMX_NAME = "metrics-test";
+
+    @Test
+    public void testPhasesAndCounters() throws IOException {
+        try (IndexSearcher searcher = new IndexSearcher(indexPath.toString())) {
+            final TermQuery query = new TermQuery(new Term("color", "black"));
+            final SearchPage page = searcher.search(query, 10);
+            final List<Hit> hits = searcher.fetch(query, 5, Collections.singleton("skuId"));
+            hits.forEach(Hit::getDocument);
+            searcher.count(new MatchAllDocsQuery());
+
+            final SearchMetricsSnapshot snapshot = searcher.getMetrics().snapshot();
+            final QueryMetricsSnapshot termQueries = snapshot.getQueries().get("TermQuery");
+            assertThat(termQueries.getQueries(), equalTo(2L));
+            assertThat(termQueries.getHits(), equalTo(2L * page.getTotalHits()));
+            assertThat(termQueries.getDocumentsLoaded(), equalTo(15L));
+            assertThat(termQueries.getFetch().getCount(), equalTo(6L));
+            assertThat(snapshot.getQueries().get("MatchAllDocsQuery").getHits(),
+                    equalTo((long) indexSearcher.count(new MatchAllDocsQuery())));
+            assertThat(snapshot.getReader().getSegments(), greaterThan(0));
+            assertThat(snapshot.getReader().getNumDocs(), equalTo(indexSearcher.count(new MatchAllDocsQuery())));
+
+            searcher.getMetrics().reset();
+            assertThat(searcher.getMetrics().snapshot().getQueries().get("TermQuery").getQueries(), equalTo(0L));
+        }
+    }
+
+    @Test
+    public void testExportLoadsAreRecordedAsFetch() throws IOException {
+        try (IndexSearcher searcher = new IndexSearcher(indexPath.toString())) {
+            final TermQuery query = new TermQuery(new Term("color", "black"));
+            final long exported = searcher.export(query, Collections.singleton("skuId"),
+                    new ByteArrayOutputStream(), CatalogFormat.NDJSON);
+
+            final QueryMetricsSnapshot termQueries = snapshot(searcher).getQueries().get("TermQuery");
+            assertThat(exported, greaterThan(0L));
+            assertThat(termQueries.getSearch().getCount(), equalTo(1L));
+            assertThat(termQueries.getHits(), equalTo(exported));
+            assertThat(termQueries.getFetch().getCount(), equalTo(1L));
+            assertThat(termQueries.getDocumentsLoaded(), equalTo(exported));
+        }
+    }
+
+    @Test
+    public void testJmxRegistration() throws IOException, JMException {
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        final ObjectName name = new ObjectName(
+                SearchMetrics.JMX_DOMAIN + ":type=IndexSearcher,name=" + ObjectName.quote(JMX_NAME));
+        final IndexSearcherConfig config = IndexSearcherConfig.builder().jmxName(JMX_NAME).build();
+        try (IndexSearcher searcher = new IndexSearcher(indexPath.toString(), config)) {
+            searcher.search(new TermQuery(new Term("size", "XL")), 10);
+            final Object snapshot = server.getAttribute(name, "Snapshot");
+            assertThat(snapshot, instanceOf(CompositeData.class));
+            assertThat(((CompositeData) ((CompositeData) snapshot).get("reader")).get("segments"),
+                    equalTo(snapshot(searcher).getReader().getSegments()));
+        }
+        assertThat(server.isRegistered(name), equalTo(false));
+    }
+
+    @Test
+    public void testFailedStartLeavesNothingBehind() throws IOException {
+        final IndexSearcherConfig config = IndexSearcherConfig.builder()
+                .jmxName(JMX_NAME)
+                .maxStalenessMs(1000)
+                .searchThreads(2)
+                .build();
+        try (IndexSearcher searcher = new IndexSearcher(indexPath.toString(), config)) {
+            final long threads = searcherThreads();
+            try {
+                new IndexSearcher(indexPath.toString(), config).close();
+                fail("A taken JMX name must fail the searcher");
+            } catch (IllegalStateException expected) {
+                assertThat(searcherThreads(), equalTo(threads));
+            }
+            searcher.count(new MatchAllDocsQuery());
+        }
+        //a missing index fails after registration and must give the name back
+        final Path empty = Files.createTempDirectory("empty_idx");
+        try {
+            new IndexSearcher(empty.toString(), config).close();
+            fail("An empty directory has no index to search");
+        } catch (IOException expected) {
+            new IndexSearcher(indexPath.toString(), config).close();
+        }
+    }
+
+    @Test
+    public void testCacheHitsAreCountedApart() throws IOException {
+        final IndexSearcherConfig config = IndexSearcherConfig.builder().queryCacheMaxEntries(10).build();
+        try (IndexSearcher searcher = new IndexSearcher(indexPath.toString(), config)) {
+            final TermQuery query = new TermQuery(new Term("color", "black"));
+            searcher.search(query, 10);
+            searcher.search(query, 10);
+            final QueryMetricsSnapshot termQueries = snapshot(searcher).getQueries().get("TermQuery");
+            assertThat(termQueries.getQueries(), equalTo(2L));
+            assertThat(termQueries.getCachedQueries(), equalTo(1L));
+            assertThat(termQueries.getSearch().getCount(), equalTo(1L));
+        }
+    }
+
+    private static long searcherThreads() {
+        return Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> thread.isAlive() && thread.getName().startsWith("index-searcher"))
+                .count();
+    }
+
+    @Test
+    public void testHistogramPercentiles() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        for (long i = 1; i <= 10000; i++) {
+            histogram.record(i * 1000);
+        }
+        final LatencySnapshot snapshot = histogram.snapshot();
+        assertThat(snapshot.getCount(), equalTo(10000L));
+        assertThat(snapshot.getMaxNanos(), equalTo(10_000_000L));
+        assertThat(snapshot.getP50Nanos(), allOf(greaterThanOrEqualTo(5_000_000L), lessThanOrEqualTo(5_320_000L)));
+        assertThat(snapshot.getP99Nanos(), allOf(greaterThanOrEqualTo(9_900_000L), lessThanOrEqualTo(10_000_000L)));
+    }
+
+    private static SearchMetricsSnapshot snapshot(final IndexSearcher searcher) {
+        return searcher.getMetrics().snapshot();
+    }
+}
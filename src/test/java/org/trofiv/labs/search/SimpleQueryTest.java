@@ -5,14 +5,20 @@ import org.apache.lucene.analysis.Analyzer;
 import org.apache.lucene.analysis.standard.StandardAnalyzer;
 import org.apache.lucene.document.Document;
 import org.apache.lucene.document.FloatPoint;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.ReaderUtil;
 import org.apache.lucene.index.Term;
 import org.apache.lucene.queryparser.classic.ParseException;
 import org.apache.lucene.queryparser.classic.QueryParser;
 import org.apache.lucene.search.BooleanClause.Occur;
 import org.apache.lucene.search.BooleanQuery.Builder;
+import org.apache.lucene.search.FieldDoc;
 import org.apache.lucene.search.MatchAllDocsQuery;
 import org.apache.lucene.search.PrefixQuery;
 import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.Scorer;
+import org.apache.lucene.search.SimpleCollector;
 import org.apache.lucene.search.TermQuery;
 import org.apache.lucene.search.WildcardQuery;
 import org.apache.lucene.search.join.QueryBitSetProducer;
@@ -25,17 +31,33 @@ import org.apache.lucene.search.spans.SpanOrQuery;
 import org.apache.lucene.search.spans.SpanPositionRangeQuery;
 import org.apache.lucene.search.spans.SpanQuery;
 import org.apache.lucene.search.spans.SpanTermQuery;
+import org.apache.lucene.util.Bits;
 import org.hamcrest.MatcherAssert;
 import org.junit.Test;
 import org.trofiv.labs.search.document.DocumentModel;
 import org.trofiv.labs.search.document.PriceInfoModel;
 import org.trofiv.labs.search.document.SKUModel;
+import org.trofiv.labs.search.index.Hit;
+import org.trofiv.labs.search.index.IndexBuilder;
+import org.trofiv.labs.search.index.IndexSearcher;
+import org.trofiv.labs.search.index.IndexSearcherConfig;
+import org.trofiv.labs.search.index.ScoredHits;
+import org.trofiv.labs.search.index.SearchPage;
+import org.trofiv.labs.search.index.Sorts;
 import org.trofiv.labs.search.search.even.EvenQuery;
+import org.trofiv.labs.search.search.even.Parity;
+import org.trofiv.labs.search.search.even.ParityQuery;
 import org.trofiv.labs.search.search.random.RandomizedCustomScoreQuery;
 import org.trofiv.labs.search.search.random.RandomizedScoreQuery;
 import org.trofiv.labs.search.search.random.RandomizedSimilarity;
 
-import java.util.Iterator;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.DoubleSummaryStatistics;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -48,14 +70,18 @@ import java.util.stream.Stream;
 
 import static org.hamcrest.Matchers.both;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.notNullValue;
 import static org.hamcrest.number.OrderingComparison.greaterThanOrEqualTo;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 import static org.trofiv.labs.search.util.DocumentUtils.areEqual;
 import static org.trofiv.labs.search.util.DocumentUtils.toDocumentIds;
+import static org.trofiv.labs.search.util.DocumentUtils.toHitIds;
 
 public class SimpleQueryTest extends BaseSearchTest {
     @SuppressWarnings({"resource", "IOResourceOpenedButNotSafelyClosed"})
@@ -68,6 +94,64 @@ public class SimpleQueryTest extends BaseSearchTest {
         assertThat(actual, hasSize(Math.toIntExact(documentModels.stream().mapToLong(DocumentModel::size).sum())));
     }
 
+    @Test
+    @SuppressWarnings("MagicNumber")
+    public void testPagedSearch() {
+        final Query query = new TermQuery(new Term("scope", "product"));
+        final List<Document> expected = indexSearcher.search(query);
+        final List<Document> actual = new ArrayList<>();
+        SearchPage page = indexSearcher.search(query, 100);
+        actual.addAll(page.getDocuments());
+        while (page.hasNext()) {
+            assertThat(page.getDocuments(), hasSize(100));
+            page = indexSearcher.searchAfter(query, page.getCursor(), 100);
+            actual.addAll(page.getDocuments());
+        }
+        assertThat(page.getTotalHits(), equalTo(documentModels.size()));
+        assertThat(indexSearcher.count(query), equalTo(documentModels.size()));
+        assertTrue(areEqual(actual, expected));
+    }
+
+    @Test
+    public void testSortByPrice() {
+        final Query query = new TermQuery(new Term("scope", "price"));
+        final SearchPage cheapest = indexSearcher.search(query, Sorts.byPrice(false), 1);
+        final SearchPage dearest = indexSearcher.search(query, Sorts.byPrice(true), 1);
+        final DoubleSummaryStatistics prices = documentModels.stream()
+                .flatMap(documentModel -> documentModel.getSku().stream())
+                .flatMap(skuModel -> skuModel.getPrices().stream())
+                .mapToDouble(PriceInfoModel::getPrice)
+                .summaryStatistics();
+        assertThat(((FieldDoc) cheapest.getCursor()).fields[0], equalTo((Object) (float) prices.getMin()));
+        assertThat(((FieldDoc) dearest.getCursor()).fields[0], equalTo((Object) (float) prices.getMax()));
+    }
+
+    @Test
+    public void testSortByBrand() {
+        final Query query = new TermQuery(new Term("scope", "product"));
+        final Map<String, String> brands = documentModels.stream()
+                .collect(Collectors.toMap(DocumentModel::getId, DocumentModel::getBrand));
+        final List<String> actual = indexSearcher.search(query, Sorts.byKeyword("brand", false), documentModels.size())
+                .getDocuments().stream()
+                .map(doc -> brands.get(doc.get("id")))
+                .collect(Collectors.toList());
+        final List<String> expected = documentModels.stream()
+                .map(DocumentModel::getBrand)
+                .sorted()
+                .collect(Collectors.toList());
+        assertThat(actual, equalTo(expected));
+    }
+
+    @Test
+    public void testProjectedFetch() {
+        final Query query = new TermQuery(new Term("color", "black"));
+        final Set<String> fields = new HashSet<>(Arrays.asList("id", "skuId"));
+        final List<Hit> hits = indexSearcher.fetch(query, indexSearcher.count(query), fields);
+        assertTrue(hits.stream().noneMatch(Hit::isLoaded));
+        assertThat(toHitIds(hits), equalTo(toDocumentIds(indexSearcher.search(query))));
+        hits.forEach(hit -> assertThat(hit.getDocument().getFields(), hasSize(1)));
+    }
+
     @Test
     public void testQueryBlackSkus() {
         final Query query = new TermQuery(new Term("color", "black"));
@@ -286,18 +370,66 @@ public class SimpleQueryTest extends BaseSearchTest {
     }
 
     @Test
-    public void customQueryTest() {
+    public void customQueryTest() throws IOException {
         final Query query = new EvenQuery();
         final List<Document> actual = indexSearcher.search(query);
-        final List<Document> all = indexSearcher.search(new MatchAllDocsQuery());
-        final Iterator<Boolean> matcher =
-                IntStream.iterate(0, i -> (i + 1) % 2)
-                        .mapToObj(i -> i != 0)
-                        .iterator();
-        final List<Document> expected = all.stream().filter(i -> matcher.next()).collect(Collectors.toList());
+        final List<Document> expected = new ArrayList<>();
+        final org.apache.lucene.search.IndexSearcher searcher = indexSearcher.acquire();
+        try {
+            //parity is taken per segment
+            for (final LeafReaderContext leaf : searcher.getIndexReader().leaves()) {
+                final Bits liveDocs = leaf.reader().getLiveDocs();
+                for (int doc = 0; doc < leaf.reader().maxDoc(); doc += 2) {
+                    if (liveDocs == null || liveDocs.get(doc)) {
+                        expected.add(searcher.doc(leaf.docBase + doc));
+                    }
+                }
+            }
+        } finally {
+            indexSearcher.release(searcher);
+        }
         assertTrue(areEqual(actual, expected));
     }
 
+    @Test
+    public void testParityQueriesPartitionIndex() {
+        final int even = indexSearcher.count(new ParityQuery(Parity.EVEN));
+        final int odd = indexSearcher.count(new ParityQuery(Parity.ODD));
+        final int all = indexSearcher.count(new MatchAllDocsQuery());
+        final org.apache.lucene.search.IndexSearcher searcher = indexSearcher.acquire();
+        final int segments = searcher.getIndexReader().leaves().size();
+        indexSearcher.release(searcher);
+        assertThat(even + odd, equalTo(all));
+        //every segment with an odd number of docs has one more even doc
+        assertThat(even - odd, both(greaterThanOrEqualTo(0)).and(lessThanOrEqualTo(segments)));
+    }
+
+    @Test
+    public void testParityQueryInConjunction() throws IOException {
+        final Query color = new TermQuery(new Term("color", "black"));
+        final int colored = indexSearcher.count(color);
+        int matched = 0;
+        final org.apache.lucene.search.IndexSearcher searcher = indexSearcher.acquire();
+        try {
+            for (final Parity parity : Parity.values()) {
+                final Query query = new Builder()
+                        .add(color, Occur.MUST)
+                        .add(new ParityQuery(parity), Occur.FILTER)
+                        .build();
+                for (final ScoreDoc hit : searcher.search(query, colored).scoreDocs) {
+                    final List<LeafReaderContext> leaves = searcher.getIndexReader().leaves();
+                    final int docBase = leaves.get(ReaderUtil.subIndex(hit.doc, leaves)).docBase;
+                    assertThat((hit.doc - docBase) % 2, equalTo(parity.ordinal()));
+                    assertThat(searcher.explain(query, hit.doc).isMatch(), is(true));
+                    matched++;
+                }
+            }
+        } finally {
+            indexSearcher.release(searcher);
+        }
+        assertThat(matched, equalTo(colored));
+    }
+
     @Test
     public void testQueryXLSkus() {
         final Query query = new TermQuery(new Term("size", "XL"));
@@ -441,7 +573,7 @@ public class SimpleQueryTest extends BaseSearchTest {
     @Test
     @SuppressWarnings("MagicNumber")
     public void testCustomSimilarityScores() {
-        final Map<Document, Float> result = indexSearcher.scoredSearch(new RandomizedScoreQuery());
+        final ScoredHits result = indexSearcher.scoredSearch(new RandomizedScoreQuery());
         result.forEach((k, v) -> MatcherAssert.assertThat(v,
                 is(both(greaterThanOrEqualTo(RandomizedSimilarity.LOWER_BOUND))
                         .and(lessThan(RandomizedSimilarity.UPPER_BOUND)))));
@@ -450,10 +582,106 @@ public class SimpleQueryTest extends BaseSearchTest {
     @Test
     @SuppressWarnings("MagicNumber")
     public void customScoreQueryTest() {
-        final Map<Document, Float> result = indexSearcher.scoredSearch(
+        final ScoredHits result = indexSearcher.scoredSearch(
                 new RandomizedCustomScoreQuery(new MatchAllDocsQuery()));
         result.forEach((k, v) -> MatcherAssert.assertThat(v,
                 is(both(greaterThanOrEqualTo(RandomizedCustomScoreQuery.LOWER_BOUND))
                         .and(lessThan(RandomizedCustomScoreQuery.UPPER_BOUND)))));
     }
+
+    @Test
+    @SuppressWarnings("MagicNumber")
+    public void testRandomizedScoresAreReproducible() throws IOException {
+        //the shared index is a single segment, slices need several, and fewer than a merge tier
+        final Path path = Files.createTempDirectory("randomized_idx");
+        final int segmentSize = documentModels.size() / 4;
+        try (IndexBuilder indexBuilder = new IndexBuilder(path.toString())) {
+            for (int i = 0; i < documentModels.size(); i++) {
+                indexBuilder.addProduct(documentModels.get(i));
+                if (i % segmentSize == segmentSize - 1) {
+                    indexBuilder.commit();
+                }
+            }
+        }
+        final IndexSearcherConfig parallel = IndexSearcherConfig.builder()
+                .searchThreads(4)
+                .maxDocsPerSlice(1)
+                .maxSegmentsPerSlice(1)
+                .build();
+        try (IndexSearcher sequentialSearcher = new IndexSearcher(path.toString());
+             IndexSearcher parallelSearcher = new IndexSearcher(path.toString(), parallel)) {
+            final org.apache.lucene.search.IndexSearcher searcher = parallelSearcher.acquire();
+            try {
+                assertThat(searcher.getIndexReader().leaves().size(), greaterThan(1));
+            } finally {
+                parallelSearcher.release(searcher);
+            }
+            for (final Query query : Arrays.asList(new RandomizedScoreQuery(7),
+                    new RandomizedCustomScoreQuery(new MatchAllDocsQuery(), 7))) {
+                //the top-n path is the one that splits the leaves into slices on the search pool
+                final int n = sequentialSearcher.count(query);
+                final ScoredHits expected = sequentialSearcher.scoredSearch(query, n);
+                assertSameRanking(sequentialSearcher.scoredSearch(query, n), expected);
+                assertSameRanking(parallelSearcher.scoredSearch(query, n), expected);
+            }
+        }
+        final ScoredHits first = indexSearcher.scoredSearch(new RandomizedScoreQuery(7), 10);
+        final ScoredHits second = indexSearcher.scoredSearch(new RandomizedScoreQuery(8), 10);
+        assertThat(IntStream.range(0, 10).allMatch(i -> first.doc(i) == second.doc(i)), is(false));
+    }
+
+    @Test
+    public void testBulkScorersExposeCurrentDoc() throws IOException {
+        final org.apache.lucene.search.IndexSearcher searcher = indexSearcher.acquire();
+        try {
+            for (final Query query : Arrays.asList(new RandomizedScoreQuery(7), new ParityQuery(Parity.EVEN))) {
+                final int[] collected = new int[1];
+                searcher.search(query, new SimpleCollector() {
+                    private Scorer scorer;
+
+                    @Override
+                    public void setScorer(final Scorer scorer) {
+                        this.scorer = scorer;
+                    }
+
+                    @Override
+                    public void collect(final int doc) throws IOException {
+                        assertThat(scorer.getWeight().getQuery(), equalTo(query));
+                        assertThat(scorer.docID(), equalTo(doc));
+                        assertThat(scorer.iterator().docID(), equalTo(doc));
+                        collected[0]++;
+                    }
+
+                    @Override
+                    public boolean needsScores() {
+                        return true;
+                    }
+                });
+                assertThat(collected[0], equalTo(indexSearcher.count(query)));
+            }
+        } finally {
+            indexSearcher.release(searcher);
+        }
+    }
+
+    private static void assertSameRanking(final ScoredHits actual, final ScoredHits expected) {
+        assertThat(actual.size(), equalTo(expected.size()));
+        for (int i = 0; i < expected.size(); i++) {
+            assertThat(actual.doc(i), equalTo(expected.doc(i)));
+            assertThat(actual.score(i), equalTo(expected.score(i)));
+        }
+    }
+
+    @Test
+    @SuppressWarnings("MagicNumber")
+    public void testScoredHitsRankingOrder() {
+        final Query query = new RandomizedCustomScoreQuery(new TermQuery(new Term("scope", "product")));
+        final ScoredHits result = indexSearcher.scoredSearch(query);
+        assertThat(result.size(), equalTo(documentModels.size()));
+        IntStream.range(1, result.size()).forEach(i ->
+                assertThat(result.score(i), is(lessThanOrEqualTo(result.score(i - 1)))));
+        final ScoredHits top = indexSearcher.scoredSearch(query, 10);
+        assertThat(top.size(), equalTo(10));
+        assertThat(result.document(0).get("id"), notNullValue());
+    }
 }